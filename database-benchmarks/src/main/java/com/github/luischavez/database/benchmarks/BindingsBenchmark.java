@@ -0,0 +1,81 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.benchmarks;
+
+import com.github.luischavez.database.grammar.Bindings;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Flattening of where and value bindings.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingsBenchmark {
+
+    private static final String[] VALUES = {"values"};
+    private static final String[] WHERES_AND_HAVINGS = {"wheres", "havings"};
+
+    @Param({"1", "10", "100"})
+    public int count;
+
+    private Bindings bindings;
+
+    @Setup
+    public void setup() {
+        this.bindings = new Bindings();
+        for (int i = 0; i < this.count; i++) {
+            this.bindings.set("values", new Object[]{i, "name" + i, i * 1.5});
+            this.bindings.set("wheres", i);
+            this.bindings.set("wheres", new Object[]{i, i + 1});
+        }
+        this.bindings.set("havings", this.count);
+    }
+
+    @Benchmark
+    public Object[] all() {
+        return this.bindings.getArray();
+    }
+
+    @Benchmark
+    public Object[] values() {
+        return this.bindings.getArray(VALUES);
+    }
+
+    @Benchmark
+    public Object[] wheresAndHavings() {
+        return this.bindings.getArray(WHERES_AND_HAVINGS);
+    }
+}
@@ -0,0 +1,65 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.benchmarks;
+
+import com.github.luischavez.database.grammar.Compilable;
+import com.github.luischavez.database.handler.Handler;
+import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.RowList;
+
+/**
+ * Handler that keeps the last query instead of executing it.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+class CapturingHandler implements Handler {
+
+    private Compilable compilable;
+
+    public Compilable getCompilable() {
+        return this.compilable;
+    }
+
+    @Override
+    public RowList fetch(Compilable compilable) {
+        this.compilable = compilable;
+        return new RowList();
+    }
+
+    @Override
+    public Cursor cursor(Compilable compilable, int fetchSize) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Affecting affect(Compilable compilable) {
+        this.compilable = compilable;
+        return null;
+    }
+
+    @Override
+    public Affecting[] batch(Compilable compilable, Object[][] values, int chunkSize) {
+        this.compilable = compilable;
+        return new Affecting[0];
+    }
+
+    @Override
+    public void execute(Compilable compilable) {
+        this.compilable = compilable;
+    }
+}
@@ -0,0 +1,116 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.benchmarks;
+
+import com.github.luischavez.database.grammar.Compilable;
+import com.github.luischavez.database.query.Query;
+import com.github.luischavez.database.query.QueryGrammar;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compilation of the query shapes, with and without the compile cache.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompileBenchmark {
+
+    @Param({"select", "where", "join", "group", "insert", "update", "delete"})
+    public String shape;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private QueryGrammar grammar;
+    private Compilable compilable;
+
+    @Setup
+    public void setup() {
+        this.grammar = new QueryGrammar();
+        if (!this.cached) {
+            this.grammar.getCache().setMaxSize(0);
+        }
+        CapturingHandler handler = new CapturingHandler();
+        Query query = new Query(handler);
+        switch (this.shape) {
+            case "select":
+                query.table("users").get();
+                break;
+            case "where":
+                query.table("users")
+                        .where("name", "=", "Luis")
+                        .where("age", ">", 18)
+                        .orWhere("country", "=", "MX")
+                        .order("name", true)
+                        .limit(10)
+                        .get("user_id, name");
+                break;
+            case "join":
+                query.table("users u")
+                        .join("profiles p", "p.user_id", "=", "u.user_id")
+                        .where("u.name", "=", "Luis")
+                        .get("u.name, p.bio");
+                break;
+            case "group":
+                query.table("orders")
+                        .where("status", "=", "PAID")
+                        .group("user_id")
+                        .having("user_id", ">", 100)
+                        .order("user_id", false)
+                        .get("user_id");
+                break;
+            case "insert":
+                query.insert("users", "name, lastname, age", new Object[][]{
+                    {"Luis", "Chávez", 30},
+                    {"Walter", "White", 50}
+                });
+                break;
+            case "update":
+                query.where("user_id", "=", 1).update("users", "name, lastname", "Luis", "Chávez");
+                break;
+            case "delete":
+                query.where("user_id", "=", 1).delete("users");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + this.shape);
+        }
+        this.compilable = handler.getCompilable();
+    }
+
+    @Benchmark
+    public String compile() {
+        return this.grammar.compile(this.compilable);
+    }
+}
@@ -0,0 +1,124 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.benchmarks;
+
+import com.github.luischavez.database.link.Converter;
+import com.github.luischavez.database.link.Converters;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Conversion of the values read and bound by links, through the converter
+ * lookup and through the per column converters used when building rows.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private Converters converters;
+    private Object[][] databaseValues;
+    private Object[][] javaValues;
+    private Converter[] javaConverters;
+    private Converter[] databaseConverters;
+
+    @Setup
+    public void setup() {
+        this.converters = Converters.getDefault();
+        this.databaseValues = new Object[this.rows][];
+        this.javaValues = new Object[this.rows][];
+        for (int i = 0; i < this.rows; i++) {
+            this.databaseValues[i] = new Object[]{
+                i, (long) i, "name" + i, new BigDecimal(i).movePointLeft(2), i * 1.5,
+                new Timestamp(1420070400000L + i * 1000L), null
+            };
+            this.javaValues[i] = new Object[]{
+                i, "name" + i, LocalDate.of(2015, 1, 1).plusDays(i % 365),
+                LocalDateTime.of(2015, 1, 1, 0, 0).plusSeconds(i), true, null
+            };
+        }
+        this.javaConverters = new Converter[this.databaseValues[0].length];
+        for (int i = 0; i < this.javaConverters.length; i++) {
+            this.javaConverters[i] = this.converters.javaConverter();
+        }
+        this.databaseConverters = new Converter[this.javaValues[0].length];
+        for (int i = 0; i < this.databaseConverters.length; i++) {
+            this.databaseConverters[i] = this.converters.databaseConverter();
+        }
+    }
+
+    @Benchmark
+    public void toJava(Blackhole blackhole) {
+        for (Object[] row : this.databaseValues) {
+            for (Object value : row) {
+                blackhole.consume(this.converters.toJava(value));
+            }
+        }
+    }
+
+    @Benchmark
+    public void toJavaPerColumn(Blackhole blackhole) {
+        for (Object[] row : this.databaseValues) {
+            for (int i = 0; i < row.length; i++) {
+                blackhole.consume(this.javaConverters[i].apply(row[i]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void toDatabase(Blackhole blackhole) {
+        for (Object[] row : this.javaValues) {
+            for (Object value : row) {
+                blackhole.consume(this.converters.toDatabase(value));
+            }
+        }
+    }
+
+    @Benchmark
+    public void toDatabasePerColumn(Blackhole blackhole) {
+        for (Object[] row : this.javaValues) {
+            for (int i = 0; i < row.length; i++) {
+                blackhole.consume(this.databaseConverters[i].apply(row[i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.benchmarks;
+
+import com.github.luischavez.database.Database;
+import com.github.luischavez.database.configuration.DatabaseConfiguration;
+import com.github.luischavez.database.h2.H2Support;
+import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Row;
+import com.github.luischavez.database.link.RowList;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end select and insert throughput against an in-memory H2 database.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class H2Benchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"100"})
+    public int batchSize;
+
+    private Database database;
+    private Object[][] batch;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DatabaseConfiguration configuration = new DatabaseConfiguration();
+        configuration.setName("benchmark");
+        configuration.setSupportClassName(H2Support.class.getName());
+        Map<String, String> properties = new HashMap<>();
+        properties.put("database", "benchmark" + System.nanoTime());
+        properties.put("memory", "true");
+        properties.put("user", "sa");
+        properties.put("password", "");
+        configuration.setProperties(properties);
+        this.database = new Database(configuration, new H2Support());
+        this.database.configure();
+        this.database.open();
+        this.database.create("users", table -> {
+            table.integer("user_id").incremented();
+            table.string("name", 64);
+            table.string("lastname", 64);
+            table.decimal("balance", 10, 2);
+            table.primary("user_id");
+        });
+        Object[][] values = new Object[this.rows][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Object[]{"name" + i, "lastname" + i, i * 1.5};
+        }
+        this.database.batchInsert("users", "name, lastname, balance", values);
+        this.batch = new Object[this.batchSize][];
+        for (int i = 0; i < this.batch.length; i++) {
+            this.batch[i] = new Object[]{"batch" + i, "lastname" + i, i * 1.5};
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.database.drop("users");
+        this.database.shutdown();
+    }
+
+    @Benchmark
+    public Row selectByKey() {
+        this.next = this.next % this.rows + 1;
+        return this.database.table("users").where("user_id", "=", this.next).first();
+    }
+
+    @Benchmark
+    public RowList selectPage() {
+        return this.database.table("users").where("user_id", ">", this.rows / 2).order("user_id", true).limit(100).get();
+    }
+
+    @Benchmark
+    public RowList selectAll() {
+        return this.database.table("users").get();
+    }
+
+    @Benchmark
+    public Affecting insert() {
+        return this.database.insert("users", "name, lastname, balance", "Luis", "Chávez", 10.5);
+    }
+
+    @Benchmark
+    public Affecting[] batchInsert() {
+        return this.database.batchInsert("users", "name, lastname, balance", this.batch, this.batchSize);
+    }
+}
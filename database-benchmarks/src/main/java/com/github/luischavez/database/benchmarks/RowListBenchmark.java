@@ -0,0 +1,95 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.benchmarks;
+
+import com.github.luischavez.database.link.Columns;
+import com.github.luischavez.database.link.Row;
+import com.github.luischavez.database.link.RowList;
+import com.github.luischavez.database.link.StorageType;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Iteration over result rows, boxed and through the primitive accessors.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowListBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private RowList rowList;
+
+    @Setup
+    public void setup() {
+        Columns columns = new Columns("id", "name", "price");
+        StorageType[] types = {StorageType.LONG, StorageType.OBJECT, StorageType.DOUBLE};
+        this.rowList = new RowList(columns, types, this.rows);
+        for (int i = 0; i < this.rows; i++) {
+            this.rowList.add(new Object[]{(long) i, "name" + i, i * 1.5});
+        }
+    }
+
+    @Benchmark
+    public double iterateBoxed() {
+        double total = 0;
+        for (Row row : this.rowList) {
+            total += ((Number) row.value("id")).longValue() + ((Number) row.value("price")).doubleValue();
+            total += row.string("name").length();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double iteratePrimitive() {
+        double total = 0;
+        for (Row row : this.rowList) {
+            total += row.getLong("id") + row.getDouble("price");
+            total += row.string("name").length();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double indexed() {
+        double total = 0;
+        for (int i = 0; i < this.rowList.size(); i++) {
+            total += this.rowList.getLong(i, 0) + this.rowList.getDouble(i, 2);
+            total += ((String) this.rowList.value(i, 1)).length();
+        }
+        return total;
+    }
+}
@@ -18,69 +18,495 @@ package com.github.luischavez.database;
 
 import com.github.luischavez.database.configuration.Configuration;
 import com.github.luischavez.database.configuration.ConfigurationBuilder;
+import com.github.luischavez.database.configuration.ConfigurationException;
 import com.github.luischavez.database.configuration.ConfigurationSource;
 import com.github.luischavez.database.configuration.DatabaseConfiguration;
 import com.github.luischavez.database.function.Fluentable;
 import com.github.luischavez.database.grammar.Compiler;
 import com.github.luischavez.database.grammar.Grammar;
 import com.github.luischavez.database.grammar.SQLType;
+import com.github.luischavez.database.handler.CachingHandler;
 import com.github.luischavez.database.handler.DefaultHandler;
+import com.github.luischavez.database.handler.Dispatcher;
 import com.github.luischavez.database.handler.Handler;
+import com.github.luischavez.database.handler.Metrics;
+import com.github.luischavez.database.handler.SlowQueryLog;
+import com.github.luischavez.database.handler.ResultCache;
 import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.Isolation;
+import com.github.luischavez.database.link.LeasedCursor;
 import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.link.LoadReport;
+import com.github.luischavez.database.link.Publisher;
 import com.github.luischavez.database.link.Row;
 import com.github.luischavez.database.link.RowList;
 import com.github.luischavez.database.query.Query;
 import com.github.luischavez.database.query.Queryable;
+import com.github.luischavez.database.query.Template;
+import com.github.luischavez.database.query.TemplateHandler;
 import com.github.luischavez.database.query.component.JoinComponent;
 import com.github.luischavez.database.schema.Blueprint;
 
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  *
  * @author Luis Chávez {@literal <https://github.com/luischavez>}
  */
-public class Database implements Queryable<Query> {
+public class Database implements Queryable<Query>, Dispatcher {
 
-    private static final List<DatabaseConfiguration> CONFIGURATIONS = new ArrayList<>();
-    private static final List<Migrator> MIGRATORS = new ArrayList<>();
+    private static final Logger LOGGER = LoggerFactory.getLogger(Database.class);
+
+    private static final List<DatabaseConfiguration> CONFIGURATIONS = new CopyOnWriteArrayList<>();
+    private static final List<Migrator> MIGRATORS = new CopyOnWriteArrayList<>();
+    private static final Map<String, Database> INSTANCES = new ConcurrentHashMap<>();
 
     private final DatabaseConfiguration databaseConfiguration;
     private final Support support;
+    private final Database shared;
+
+    private final ThreadLocal<Link> links;
+    private final AtomicInteger savepoints;
 
-    private Link link;
+    private volatile ExecutorService executor;
+    private volatile Semaphore permits;
+    private volatile ResultCache resultCache;
+    private volatile Metrics metrics;
+    private volatile SlowQueryLog slowQueryLog;
 
     public Database(DatabaseConfiguration databaseConfiguration, Support support) {
+        this(databaseConfiguration, support, null);
+    }
+
+    /**
+     * Creates a handle with its own links over the linker, executor, cache,
+     * metrics and slow query log of the shared database.
+     *
+     * @param shared shared database
+     */
+    protected Database(Database shared) {
+        this(shared.databaseConfiguration, shared.support, null != shared.shared ? shared.shared : shared);
+    }
+
+    private Database(DatabaseConfiguration databaseConfiguration, Support support, Database shared) {
         this.databaseConfiguration = databaseConfiguration;
         this.support = support;
-        this.link = null;
+        this.shared = shared;
+        this.links = new ThreadLocal<>();
+        this.savepoints = new AtomicInteger();
+    }
+
+    protected Database share() {
+        return new Database(this);
+    }
+
+    public Support getSupport() {
+        return this.support;
     }
 
     public void configure() {
         this.support.linker().configure(this.databaseConfiguration);
     }
 
+    protected Link acquire() {
+        Metrics current = this.getMetrics();
+        long start = current.enabled() ? System.nanoTime() : 0L;
+        Link link = this.support.linker().open();
+        if (current.enabled()) {
+            current.acquired(System.nanoTime() - start);
+        }
+        return link;
+    }
+
+    protected void release(Link link) {
+        this.support.linker().close(link);
+    }
+
     public void open() {
-        if (null != this.link) {
-            this.support.linker().close(this.link);
+        Link link = this.links.get();
+        if (null != link) {
+            this.support.linker().close(link);
         }
-        this.link = this.support.linker().open();
+        this.links.set(this.acquire());
     }
 
     public void close() {
-        if (null != this.link) {
-            this.support.linker().close(this.link);
-            this.link = null;
+        Link link = this.links.get();
+        if (null != link) {
+            this.links.remove();
+            this.support.linker().close(link);
         }
     }
 
-    protected Handler handle(Compiler compiler) {
-        if (null == this.link) {
+    public boolean opened() {
+        return null != this.links.get();
+    }
+
+    public void session(Fluentable<Database> fluentable) {
+        if (this.opened()) {
+            fluentable.fluent(this);
+            return;
+        }
+        this.open();
+        try {
+            fluentable.fluent(this);
+        } finally {
+            this.close();
+        }
+    }
+
+    public void shutdown() {
+        this.close();
+        if (null != this.shared) {
+            return;
+        }
+        if (null != this.executor) {
+            this.executor.shutdown();
+            this.executor = null;
+        }
+        this.shutdownLinker();
+        if (null != this.metrics) {
+            this.metrics.unregister();
+        }
+    }
+
+    protected void shutdownLinker() {
+        this.support.linker().shutdown();
+    }
+
+    public void setExecutor(ExecutorService executor) {
+        if (null != this.shared) {
+            this.shared.setExecutor(executor);
+            return;
+        }
+        this.executor = executor;
+    }
+
+    protected ExecutorService createVirtualExecutor() {
+        try {
+            Object executorService = Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return ExecutorService.class.cast(executorService);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    protected ExecutorService createExecutor() {
+        Map<String, String> properties = this.databaseConfiguration.getProperties();
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        int queueSize = 1000;
+        int maxConcurrency = 0;
+        try {
+            poolSize = Integer.parseInt(properties.getOrDefault("async_pool_size", String.valueOf(poolSize)).trim());
+            queueSize = Integer.parseInt(properties.getOrDefault("async_queue_size", String.valueOf(queueSize)).trim());
+            maxConcurrency = Integer.parseInt(properties.getOrDefault("async_max_concurrency", "0").trim());
+        } catch (NumberFormatException ex) {
+            throw new ConfigurationException("Invalid async executor property", ex);
+        }
+        if ("virtual".equals(properties.get("async_mode"))) {
+            ExecutorService virtualExecutor = this.createVirtualExecutor();
+            if (null != virtualExecutor) {
+                this.permits = 0 < maxConcurrency ? new Semaphore(maxConcurrency, true) : null;
+                return virtualExecutor;
+            }
+            LOGGER.warn("Virtual threads aren't available on Java {}, using platform threads",
+                    System.getProperty("java.specification.version"));
+        }
+        String name = this.databaseConfiguration.getName();
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-async-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public ExecutorService getExecutor() {
+        if (null != this.shared) {
+            return this.shared.getExecutor();
+        }
+        ExecutorService current = this.executor;
+        if (null == current) {
+            synchronized (this) {
+                current = this.executor;
+                if (null == current) {
+                    current = this.createExecutor();
+                    this.executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public void setResultCache(ResultCache resultCache) {
+        if (null != this.shared) {
+            this.shared.setResultCache(resultCache);
+            return;
+        }
+        this.resultCache = resultCache;
+    }
+
+    protected ResultCache createResultCache() {
+        Map<String, String> properties = this.databaseConfiguration.getProperties();
+        try {
+            int size = Integer.parseInt(properties.getOrDefault("result_cache_size", "0").trim());
+            long ttl = Long.parseLong(properties.getOrDefault("result_cache_ttl", "60000").trim());
+            return new ResultCache(size, ttl);
+        } catch (NumberFormatException ex) {
+            throw new ConfigurationException("Invalid result cache property", ex);
+        }
+    }
+
+    public ResultCache getResultCache() {
+        if (null != this.shared) {
+            return this.shared.getResultCache();
+        }
+        ResultCache current = this.resultCache;
+        if (null == current) {
+            synchronized (this) {
+                current = this.resultCache;
+                if (null == current) {
+                    current = this.createResultCache();
+                    this.resultCache = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        if (null != this.shared) {
+            this.shared.setMetrics(metrics);
+            return;
+        }
+        this.metrics = metrics;
+    }
+
+    protected Metrics createMetrics() {
+        Map<String, String> properties = this.databaseConfiguration.getProperties();
+        boolean enabled = Boolean.parseBoolean(properties.getOrDefault("metrics", "false").trim());
+        Metrics created;
+        try {
+            created = new Metrics(enabled, Integer.parseInt(properties.getOrDefault("metrics_max_statements", "1000").trim()));
+        } catch (NumberFormatException ex) {
+            throw new ConfigurationException("Invalid metrics_max_statements property", ex);
+        }
+        if (Boolean.parseBoolean(properties.getOrDefault("metrics_jmx", "false").trim())) {
+            created.register(this.databaseConfiguration.getName());
+        }
+        return created;
+    }
+
+    public Metrics getMetrics() {
+        if (null != this.shared) {
+            return this.shared.getMetrics();
+        }
+        Metrics current = this.metrics;
+        if (null == current) {
+            synchronized (this) {
+                current = this.metrics;
+                if (null == current) {
+                    current = this.createMetrics();
+                    this.metrics = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        if (null != this.shared) {
+            this.shared.setSlowQueryLog(slowQueryLog);
+            return;
+        }
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    protected SlowQueryLog createSlowQueryLog() {
+        Map<String, String> properties = this.databaseConfiguration.getProperties();
+        try {
+            long threshold = Long.parseLong(properties.getOrDefault("slow_query_threshold", "0").trim());
+            int size = Integer.parseInt(properties.getOrDefault("slow_query_log_size", "100").trim());
+            boolean explain = Boolean.parseBoolean(properties.getOrDefault("slow_query_explain", "false").trim());
+            return new SlowQueryLog(threshold, size, explain);
+        } catch (IllegalArgumentException ex) {
+            throw new ConfigurationException("Invalid slow query log property", ex);
+        }
+    }
+
+    public SlowQueryLog getSlowQueryLog() {
+        if (null != this.shared) {
+            return this.shared.getSlowQueryLog();
+        }
+        SlowQueryLog current = this.slowQueryLog;
+        if (null == current) {
+            synchronized (this) {
+                current = this.slowQueryLog;
+                if (null == current) {
+                    current = this.createSlowQueryLog();
+                    this.slowQueryLog = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> dispatch(Function<Handler, T> task) {
+        Grammar grammar = this.support.queryGrammar();
+        ExecutorService executorService = this.getExecutor();
+        Semaphore semaphore = null != this.shared ? this.shared.permits : this.permits;
+        return CompletableFuture.supplyAsync(() -> {
+            if (null != semaphore) {
+                semaphore.acquireUninterruptibly();
+            }
+            boolean opened = this.opened();
+            try {
+                if (!opened) {
+                    this.open();
+                }
+                return task.apply(this.handle(grammar));
+            } finally {
+                if (!opened) {
+                    this.close();
+                }
+                if (null != semaphore) {
+                    semaphore.release();
+                }
+            }
+        }, executorService);
+    }
+
+    @Override
+    public Cursor lease(Function<Handler, Cursor> task) {
+        Grammar grammar = this.support.queryGrammar();
+        Link link = this.acquire();
+        try {
+            return new LeasedCursor(task.apply(this.handle(grammar, () -> link)), () -> this.release(link));
+        } catch (RuntimeException ex) {
+            this.release(link);
+            throw ex;
+        }
+    }
+
+    public void begin(Isolation isolation) {
+        this.link().begin(isolation);
+    }
+
+    public void begin() {
+        this.link().begin();
+    }
+
+    public void commit() {
+        Link link = this.link();
+        try {
+            link.commit();
+        } finally {
+            this.getResultCache().completed(link);
+        }
+    }
+
+    public void rollbackTransaction() {
+        Link link = this.link();
+        try {
+            link.rollback();
+        } finally {
+            this.getResultCache().completed(link);
+        }
+    }
+
+    public void rollbackTo(String savepoint) {
+        this.link().rollback(savepoint);
+    }
+
+    public void savepoint(String name) {
+        this.link().savepoint(name);
+    }
+
+    public boolean inTransaction() {
+        return this.opened() && this.link().inTransaction();
+    }
+
+    public void transaction(Isolation isolation, Fluentable<Database> fluentable) {
+        this.session(database -> {
+            Link link = this.link();
+            if (link.inTransaction()) {
+                String savepoint = "savepoint_" + this.savepoints.incrementAndGet();
+                link.savepoint(savepoint);
+                try {
+                    fluentable.fluent(this);
+                } catch (RuntimeException | Error ex) {
+                    link.rollback(savepoint);
+                    throw ex;
+                }
+                link.release(savepoint);
+                return;
+            }
+            link.begin(isolation);
+            try {
+                fluentable.fluent(this);
+            } catch (RuntimeException | Error ex) {
+                try {
+                    link.rollback();
+                } finally {
+                    this.getResultCache().completed(link);
+                }
+                throw ex;
+            }
+            try {
+                link.commit();
+            } finally {
+                this.getResultCache().completed(link);
+            }
+        });
+    }
+
+    public void transaction(Fluentable<Database> fluentable) {
+        this.transaction(Isolation.DEFAULT, fluentable);
+    }
+
+    protected void written(String tableName) {
+        this.getResultCache().invalidate(tableName, this.opened() ? this.link() : null);
+    }
+
+    protected Link link() {
+        Link link = this.links.get();
+        if (null == link) {
             throw new DatabaseException("Connection to database isn't open");
         }
-        return new DefaultHandler(compiler, this.link);
+        return link;
+    }
+
+    protected DefaultHandler handle(Compiler compiler, Supplier<Link> links) {
+        return new CachingHandler(compiler, links, this.getResultCache(), this.getMetrics(), this.getSlowQueryLog());
+    }
+
+    protected Handler handle(Compiler compiler) {
+        return this.handle(compiler, this::link);
     }
 
     protected void schema(Blueprint blueprint) {
@@ -110,7 +536,44 @@ public class Database implements Queryable<Query> {
     public Query query() {
         Grammar grammar = this.support.queryGrammar();
         Handler handler = this.handle(grammar);
-        return new Query(handler);
+        return new Query(handler, this);
+    }
+
+    public Template prepare(Fluentable<Query> fluentable) {
+        Grammar grammar = this.support.queryGrammar();
+        TemplateHandler handler = new TemplateHandler(grammar);
+        fluentable.fluent(new Query(handler));
+        return handler.template(this.handle(grammar, this::link), this::written);
+    }
+
+    public LoadReport load(String tableName, String columns, Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        String[] split = columns.split(",");
+        for (int i = 0; i < split.length; i++) {
+            split[i] = split[i].trim();
+        }
+        try {
+            return this.support.bulkLoader().load(this.link(), tableName, split, rows, chunkSize, commitSize);
+        } finally {
+            this.written(tableName);
+        }
+    }
+
+    public LoadReport load(String tableName, String columns, Iterator<Object[]> rows) {
+        return this.load(tableName, columns, rows, 0, 0);
+    }
+
+    public LoadReport load(String tableName, String columns, Spliterator<Object[]> rows, int chunkSize, int commitSize) {
+        return this.load(tableName, columns, Spliterators.iterator(rows), chunkSize, commitSize);
+    }
+
+    public LoadReport load(String tableName, String columns, Stream<Object[]> rows, int chunkSize, int commitSize) {
+        try (Stream<Object[]> stream = rows) {
+            return this.load(tableName, columns, stream.iterator(), chunkSize, commitSize);
+        }
+    }
+
+    public LoadReport load(String tableName, String columns, Stream<Object[]> rows) {
+        return this.load(tableName, columns, rows, 0, 0);
     }
 
     public void create(String tableName, Fluentable<Blueprint> fluentable) {
@@ -126,7 +589,7 @@ public class Database implements Queryable<Query> {
     }
 
     public boolean exists(String tableName) {
-        return this.link.exists(tableName);
+        return this.link().exists(tableName);
     }
 
     public void drop(String tableName) {
@@ -224,6 +687,16 @@ public class Database implements Queryable<Query> {
         return this.query().order(columnName, ascendant);
     }
 
+    @Override
+    public Query cache(long ttl) {
+        return this.query().cache(ttl);
+    }
+
+    @Override
+    public Query cache() {
+        return this.query().cache();
+    }
+
     @Override
     public Query limit(int maxResults) {
         return this.query().limit(maxResults);
@@ -244,6 +717,16 @@ public class Database implements Queryable<Query> {
         return this.query().insert(tableName, columns, values);
     }
 
+    @Override
+    public Affecting[] batchInsert(String tableName, String columns, Object[][] values, int chunkSize) {
+        return this.query().batchInsert(tableName, columns, values, chunkSize);
+    }
+
+    @Override
+    public Affecting[] batchInsert(String tableName, String columns, Object[][] values) {
+        return this.query().batchInsert(tableName, columns, values);
+    }
+
     @Override
     public Affecting update(String tableName, String columns, Object... values) {
         return this.query().update(tableName, columns, values);
@@ -264,6 +747,61 @@ public class Database implements Queryable<Query> {
         throw new UnsupportedOperationException("Use table method before fetch results");
     }
 
+    @Override
+    public Cursor cursor(int fetchSize, String... columns) {
+        throw new UnsupportedOperationException("Use table method before fetch results");
+    }
+
+    @Override
+    public Cursor cursor(String... columns) {
+        throw new UnsupportedOperationException("Use table method before fetch results");
+    }
+
+    @Override
+    public Stream<Row> stream(String... columns) {
+        throw new UnsupportedOperationException("Use table method before fetch results");
+    }
+
+    @Override
+    public Publisher<Row> publish(int fetchSize, String... columns) {
+        throw new UnsupportedOperationException("Use table method before fetch results");
+    }
+
+    @Override
+    public Publisher<Row> publish(String... columns) {
+        throw new UnsupportedOperationException("Use table method before fetch results");
+    }
+
+    @Override
+    public CompletableFuture<RowList> getAsync(String... columns) {
+        throw new UnsupportedOperationException("Use table method before fetch results");
+    }
+
+    @Override
+    public CompletableFuture<Row> firstAsync(String... columns) {
+        throw new UnsupportedOperationException("Use table method before fetch results");
+    }
+
+    @Override
+    public CompletableFuture<Affecting> insertAsync(String tableName, String columns, Object[][] values) {
+        return this.query().insertAsync(tableName, columns, values);
+    }
+
+    @Override
+    public CompletableFuture<Affecting> insertAsync(String tableName, String columns, Object... values) {
+        return this.query().insertAsync(tableName, columns, values);
+    }
+
+    @Override
+    public CompletableFuture<Affecting> updateAsync(String tableName, String columns, Object... values) {
+        return this.query().updateAsync(tableName, columns, values);
+    }
+
+    @Override
+    public CompletableFuture<Affecting> deleteAsync(String tableName) {
+        return this.query().deleteAsync(tableName);
+    }
+
     private static <T> T createInstance(Class<T> type, String className) {
         Class<?> clazz;
         try {
@@ -284,6 +822,9 @@ public class Database implements Queryable<Query> {
     }
 
     private static Database createDatabase(DatabaseConfiguration configuration) {
+        if (configuration.getProperties().containsKey("shards")) {
+            return ShardedDatabase.create(configuration);
+        }
         Support support = Database.createInstance(Support.class, configuration.getSupportClassName());
         Database database = new Database(configuration, support);
         database.configure();
@@ -291,15 +832,28 @@ public class Database implements Queryable<Query> {
     }
 
     public static Database use(String name) {
+        Database database = Database.INSTANCES.get(name);
+        if (null != database) {
+            return database.share();
+        }
         for (DatabaseConfiguration configuration : Database.CONFIGURATIONS) {
             if (configuration.getName().equals(name)) {
-                return Database.createDatabase(configuration);
+                for (String shard : configuration.getProperties().getOrDefault("shards", "").split(",")) {
+                    if (!shard.trim().isEmpty()) {
+                        Database.use(shard.trim());
+                    }
+                }
+                return Database.INSTANCES.computeIfAbsent(name, key -> Database.createDatabase(configuration)).share();
             }
         }
         throw new DatabaseException("Database not found " + name);
     }
 
     private static void loadDatabases(Configuration configuration) {
+        for (Database database : Database.INSTANCES.values()) {
+            database.shutdown();
+        }
+        Database.INSTANCES.clear();
         Database.CONFIGURATIONS.clear();
         Database.CONFIGURATIONS.addAll(configuration.getDatabases());
     }
@@ -76,8 +76,10 @@ public abstract class Migrator {
                     .where("migration", "=", migration.getClass().getName())
                     .first();
             if (null == row) {
-                migration.up(database);
-                database.insert("migrations", "migration, created_at", migration.getClass().getName(), LocalDateTime.now());
+                database.transaction(transaction -> {
+                    migration.up(transaction);
+                    transaction.insert("migrations", "migration, created_at", migration.getClass().getName(), LocalDateTime.now());
+                });
             }
         }
     }
@@ -86,9 +88,11 @@ public abstract class Migrator {
         for (Row row : rows) {
             Object migrationClassName = row.value("migration");
             Migration migration = this.createInstace(migrationClassName.toString());
-            migration.down(database);
-            database.where("migration", "=", migrationClassName)
-                    .delete("migrations");
+            database.transaction(transaction -> {
+                migration.down(transaction);
+                transaction.where("migration", "=", migrationClassName)
+                        .delete("migrations");
+            });
         }
     }
 
@@ -0,0 +1,211 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database;
+
+import com.github.luischavez.database.configuration.ConfigurationException;
+import com.github.luischavez.database.configuration.DatabaseConfiguration;
+import com.github.luischavez.database.grammar.Compiler;
+import com.github.luischavez.database.grammar.Grammar;
+import com.github.luischavez.database.handler.Handler;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.LeasedCursor;
+import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.shard.HashStrategy;
+import com.github.luischavez.database.shard.RangeStrategy;
+import com.github.luischavez.database.shard.ShardStrategy;
+import com.github.luischavez.database.shard.ShardingHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Database spread across shards by a key column, shards are configured and
+ * shut down as regular databases.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class ShardedDatabase extends Database {
+
+    private final List<Database> shards;
+    private final String shardKey;
+    private final ShardStrategy strategy;
+
+    public ShardedDatabase(DatabaseConfiguration databaseConfiguration, List<Database> shards, String shardKey,
+            ShardStrategy strategy) {
+        super(databaseConfiguration, ShardedDatabase.firstShard(shards).getSupport());
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+        this.shardKey = shardKey;
+        this.strategy = strategy;
+    }
+
+    protected ShardedDatabase(ShardedDatabase shared) {
+        super(shared);
+        List<Database> handles = new ArrayList<>(shared.shards.size());
+        for (Database shard : shared.shards) {
+            handles.add(shard.share());
+        }
+        this.shards = Collections.unmodifiableList(handles);
+        this.shardKey = shared.shardKey;
+        this.strategy = shared.strategy;
+    }
+
+    private static Database firstShard(List<Database> shards) {
+        if (null == shards || shards.isEmpty()) {
+            throw new DatabaseException("Sharded database requires at least one shard");
+        }
+        return shards.get(0);
+    }
+
+    public List<Database> getShards() {
+        return this.shards;
+    }
+
+    public String getShardKey() {
+        return this.shardKey;
+    }
+
+    public Database shard(Object key) {
+        return this.shards.get(this.strategy.shard(key, this.shards.size()));
+    }
+
+    @Override
+    protected Database share() {
+        return new ShardedDatabase(this);
+    }
+
+    @Override
+    public void configure() {
+    }
+
+    @Override
+    public void open() {
+        for (Database shard : this.shards) {
+            shard.open();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Database shard : this.shards) {
+            shard.close();
+        }
+    }
+
+    @Override
+    public boolean opened() {
+        for (Database shard : this.shards) {
+            if (!shard.opened()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void shutdownLinker() {
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return false;
+    }
+
+    @Override
+    public boolean exists(String tableName) {
+        for (Database shard : this.shards) {
+            if (!shard.exists(tableName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected Link link() {
+        throw new DatabaseException("Sharded database has no single link, use shard(key) for transactions, templates and bulk loads");
+    }
+
+    @Override
+    protected Handler handle(Compiler compiler) {
+        List<Handler> handlers = new ArrayList<>(this.shards.size());
+        for (Database shard : this.shards) {
+            handlers.add(shard.handle(compiler));
+        }
+        return new ShardingHandler(handlers, this.shardKey, this.strategy);
+    }
+
+    @Override
+    public Cursor lease(Function<Handler, Cursor> task) {
+        Grammar grammar = this.getSupport().queryGrammar();
+        List<Link> links = new ArrayList<>(this.shards.size());
+        Runnable release = () -> {
+            for (int i = 0; i < links.size(); i++) {
+                this.shards.get(i).release(links.get(i));
+            }
+        };
+        try {
+            List<Handler> handlers = new ArrayList<>(this.shards.size());
+            for (Database shard : this.shards) {
+                Link link = shard.acquire();
+                links.add(link);
+                handlers.add(shard.handle(grammar, () -> link));
+            }
+            return new LeasedCursor(task.apply(new ShardingHandler(handlers, this.shardKey, this.strategy)), release);
+        } catch (RuntimeException ex) {
+            release.run();
+            throw ex;
+        }
+    }
+
+    protected static ShardStrategy createStrategy(Map<String, String> properties) {
+        String strategy = properties.getOrDefault("shard_strategy", "hash").trim();
+        if ("hash".equals(strategy)) {
+            return new HashStrategy();
+        }
+        if (!"range".equals(strategy)) {
+            throw new ConfigurationException("Invalid shard_strategy property " + strategy);
+        }
+        String[] ranges = properties.getOrDefault("shard_ranges", "").split(",");
+        long[] bounds = new long[ranges.length];
+        try {
+            for (int i = 0; i < ranges.length; i++) {
+                bounds[i] = Long.parseLong(ranges[i].trim());
+            }
+        } catch (NumberFormatException ex) {
+            throw new ConfigurationException("Invalid shard_ranges property", ex);
+        }
+        return new RangeStrategy(bounds);
+    }
+
+    public static ShardedDatabase create(DatabaseConfiguration configuration) {
+        Map<String, String> properties = configuration.getProperties();
+        String shardKey = properties.get("shard_key");
+        if (null == shardKey || shardKey.trim().isEmpty()) {
+            throw new ConfigurationException("Undefined shard_key property");
+        }
+        List<Database> shards = new ArrayList<>();
+        for (String name : properties.get("shards").split(",")) {
+            if (!name.trim().isEmpty()) {
+                shards.add(Database.use(name.trim()));
+            }
+        }
+        return new ShardedDatabase(configuration, shards, shardKey.trim(), ShardedDatabase.createStrategy(properties));
+    }
+}
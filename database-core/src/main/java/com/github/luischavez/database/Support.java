@@ -17,7 +17,9 @@
 package com.github.luischavez.database;
 
 import com.github.luischavez.database.grammar.Grammar;
+import com.github.luischavez.database.link.BulkLoader;
 import com.github.luischavez.database.link.Linker;
+import com.github.luischavez.database.query.InsertLoader;
 
 /**
  *
@@ -28,11 +30,17 @@ public abstract class Support {
     private final Linker linker;
     private final Grammar queryGrammar;
     private final Grammar schemaGrammar;
+    private final BulkLoader bulkLoader;
 
-    public Support(Linker linker, Grammar queryGrammar, Grammar schemaGrammar) {
+    public Support(Linker linker, Grammar queryGrammar, Grammar schemaGrammar, BulkLoader bulkLoader) {
         this.linker = linker;
         this.queryGrammar = queryGrammar;
         this.schemaGrammar = schemaGrammar;
+        this.bulkLoader = bulkLoader;
+    }
+
+    public Support(Linker linker, Grammar queryGrammar, Grammar schemaGrammar) {
+        this(linker, queryGrammar, schemaGrammar, new InsertLoader(queryGrammar));
     }
 
     public Linker linker() {
@@ -46,4 +54,8 @@ public abstract class Support {
     public Grammar schemaGrammar() {
         return this.schemaGrammar;
     }
+
+    public BulkLoader bulkLoader() {
+        return this.bulkLoader;
+    }
 }
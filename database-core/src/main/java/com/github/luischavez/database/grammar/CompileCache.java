@@ -0,0 +1,96 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.grammar;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled SQL indexed by {@link Shape} key, the cache is reset when full.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class CompileCache {
+
+    private final Map<String, String> compiled;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    private volatile int maxSize;
+
+    public CompileCache(int maxSize) {
+        this.compiled = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.maxSize = maxSize;
+    }
+
+    public String get(String key) {
+        if (0 >= this.maxSize) {
+            return null;
+        }
+        String sql = this.compiled.get(key);
+        if (null == sql) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        return sql;
+    }
+
+    public void put(String key, String sql) {
+        if (0 >= this.maxSize) {
+            return;
+        }
+        if (this.compiled.size() >= this.maxSize) {
+            this.compiled.clear();
+        }
+        this.compiled.put(key, sql);
+    }
+
+    public void clear() {
+        this.compiled.clear();
+    }
+
+    public int size() {
+        return this.compiled.size();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        this.compiled.clear();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = this.getHits();
+        long total = hitCount + this.getMisses();
+        return 0 == total ? 0D : (double) hitCount / total;
+    }
+}
@@ -22,4 +22,7 @@ package com.github.luischavez.database.grammar;
  */
 public interface Component {
 
+    public default void shape(Shape shape) {
+        shape.uncacheable();
+    }
 }
@@ -72,6 +72,17 @@ public class ComponentBag {
         return this.components.removeAll(allComponents);
     }
 
+    public void shape(Shape shape) {
+        shape.add(this.components.size());
+        for (Component component : this.components) {
+            shape.add(component.getClass().getName());
+            component.shape(shape);
+            if (!shape.cacheable()) {
+                return;
+            }
+        }
+    }
+
     public <T extends Component> boolean contains(Class<T> componentClass) {
         for (Component component : this.components) {
             if (componentClass.isAssignableFrom(component.getClass())) {
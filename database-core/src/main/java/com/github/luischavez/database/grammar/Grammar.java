@@ -22,6 +22,18 @@ package com.github.luischavez.database.grammar;
  */
 public abstract class Grammar implements Compiler {
 
+    private static final int DEFAULT_CACHE_SIZE = 512;
+
+    private final CompileCache cache;
+
+    public Grammar() {
+        this.cache = new CompileCache(DEFAULT_CACHE_SIZE);
+    }
+
+    public CompileCache getCache() {
+        return this.cache;
+    }
+
     protected String glue(String union, String[] strings) {
         StringBuilder builder = new StringBuilder();
         for (String string : strings) {
@@ -58,15 +70,32 @@ public abstract class Grammar implements Compiler {
 
     protected abstract String compile(SQLType type, ComponentBag componentBag, Bindings bindings);
 
+    protected Shape shape(SQLType type, ComponentBag componentBag, Bindings bindings) {
+        Shape shape = new Shape();
+        shape.add(type);
+        componentBag.shape(shape);
+        return shape;
+    }
+
     @Override
     public String compile(Compilable compilable) {
         SQLType type = compilable.type();
         ComponentBag componentBag = compilable.components();
         Bindings bindings = compilable.bindings();
+        String key = this.shape(type, componentBag, bindings).key();
+        if (null != key) {
+            String cached = this.cache.get(key);
+            if (null != cached) {
+                return cached;
+            }
+        }
         String compiled = this.compile(type, componentBag, bindings);
         if (null == compiled) {
             throw new CompilerException("Unsupported SQL " + type.name());
         }
+        if (null != key) {
+            this.cache.put(key, compiled);
+        }
         return compiled;
     }
 }
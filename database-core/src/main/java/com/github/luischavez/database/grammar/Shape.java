@@ -0,0 +1,80 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.grammar;
+
+/**
+ * Structural key of a compilable, equal shapes always compile to the same
+ * SQL regardless of the bound values.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Shape {
+
+    private final StringBuilder builder;
+    private boolean cacheable;
+
+    public Shape() {
+        this.builder = new StringBuilder(128);
+        this.cacheable = true;
+    }
+
+    public Shape add(String value) {
+        if (null == value) {
+            this.builder.append("-1;");
+        } else {
+            this.builder.append(value.length()).append(':').append(value);
+        }
+        return this;
+    }
+
+    public Shape add(int value) {
+        this.builder.append(value).append(';');
+        return this;
+    }
+
+    public Shape add(boolean value) {
+        this.builder.append(value ? 'T' : 'F');
+        return this;
+    }
+
+    public Shape add(Enum<?> value) {
+        return this.add(null == value ? null : value.name());
+    }
+
+    public Shape add(Object value) {
+        if (null == value) {
+            return this.add((String) null);
+        }
+        return this.add(value.getClass().getName()).add(value.toString());
+    }
+
+    public Shape arity(Object value) {
+        return this.add(value instanceof Object[] ? Object[].class.cast(value).length : -1);
+    }
+
+    public void uncacheable() {
+        this.cacheable = false;
+    }
+
+    public boolean cacheable() {
+        return this.cacheable;
+    }
+
+    public String key() {
+        return this.cacheable ? this.builder.toString() : null;
+    }
+}
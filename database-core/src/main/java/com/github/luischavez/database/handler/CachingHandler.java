@@ -0,0 +1,124 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.handler;
+
+import com.github.luischavez.database.grammar.Bindings;
+import com.github.luischavez.database.grammar.Compilable;
+import com.github.luischavez.database.grammar.Compiler;
+import com.github.luischavez.database.grammar.SQLType;
+import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.link.RowList;
+import com.github.luischavez.database.query.component.CacheComponent;
+import com.github.luischavez.database.query.component.JoinComponent;
+import com.github.luischavez.database.query.component.TableComponent;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Serves cached queries from a {@link ResultCache} and invalidates the tables
+ * written through it.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class CachingHandler extends DefaultHandler {
+
+    private final Compiler compiler;
+    private final ResultCache cache;
+
+    public CachingHandler(Compiler compiler, Supplier<Link> links, ResultCache cache,
+            Instrumentation instrumentation, SlowQueryLog slowQueryLog) {
+        super(compiler, links, instrumentation, slowQueryLog);
+        this.compiler = compiler;
+        this.cache = cache;
+    }
+
+    public CachingHandler(Compiler compiler, Supplier<Link> links, ResultCache cache, Instrumentation instrumentation) {
+        this(compiler, links, cache, instrumentation, null);
+    }
+
+    public CachingHandler(Compiler compiler, Supplier<Link> links, ResultCache cache) {
+        this(compiler, links, cache, null);
+    }
+
+    protected Set<String> tables(Compilable compilable) {
+        Set<String> tables = new HashSet<>();
+        for (TableComponent tableComponent : compilable.components().getAll(TableComponent.class)) {
+            tables.add(ResultCache.tableKey(tableComponent.getTableName()));
+        }
+        for (JoinComponent joinComponent : compilable.components().getAll(JoinComponent.class)) {
+            tables.add(ResultCache.tableKey(joinComponent.getTableName()));
+        }
+        return tables;
+    }
+
+    protected void invalidate(Compilable compilable) {
+        for (String table : this.tables(compilable)) {
+            this.cache.invalidate(table, this.link());
+        }
+    }
+
+    @Override
+    public RowList fetch(Compilable compilable) {
+        CacheComponent cacheComponent = compilable.components().getFirst(CacheComponent.class);
+        if (null == cacheComponent || !this.cache.enabled() || !SQLType.SELECT.equals(compilable.type())
+                || this.link().inTransaction()) {
+            return super.fetch(compilable);
+        }
+        String sql = this.compiler.compile(compilable);
+        Bindings bindings = compilable.bindings();
+        Object[] parameters = bindings.getArray(new String[]{"wheres", "havings"});
+        RowList rows = this.cache.get(sql, parameters);
+        if (null != rows) {
+            return rows;
+        }
+        Set<String> tables = this.tables(compilable);
+        long generation = this.cache.generation(tables);
+        rows = super.fetch(compilable);
+        this.cache.put(sql, parameters, tables, rows, cacheComponent.getTtl(), generation);
+        return rows;
+    }
+
+    @Override
+    public Affecting affect(Compilable compilable) {
+        try {
+            return super.affect(compilable);
+        } finally {
+            this.invalidate(compilable);
+        }
+    }
+
+    @Override
+    public Affecting[] batch(Compilable compilable, Object[][] values, int chunkSize) {
+        try {
+            return super.batch(compilable, values, chunkSize);
+        } finally {
+            this.invalidate(compilable);
+        }
+    }
+
+    @Override
+    public void execute(Compilable compilable) {
+        try {
+            super.execute(compilable);
+        } finally {
+            this.cache.clear();
+        }
+    }
+}
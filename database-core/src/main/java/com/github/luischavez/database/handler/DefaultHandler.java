@@ -21,8 +21,16 @@ import com.github.luischavez.database.grammar.Compilable;
 import com.github.luischavez.database.grammar.Compiler;
 import com.github.luischavez.database.grammar.SQLType;
 import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
 import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.link.LoadReport;
+import com.github.luischavez.database.link.Row;
 import com.github.luischavez.database.link.RowList;
+import com.github.luischavez.database.query.QueryGrammar;
+
+import java.util.Iterator;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,14 +44,94 @@ public class DefaultHandler implements Handler {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultHandler.class);
 
     private final Compiler compiler;
-    private final Link link;
+    private final Supplier<Link> links;
+    private final Instrumentation instrumentation;
+    private final SlowQueryLog slowQueryLog;
 
-    public DefaultHandler(Compiler compiler, Link link) {
+    public DefaultHandler(Compiler compiler, Supplier<Link> links, Instrumentation instrumentation, SlowQueryLog slowQueryLog) {
         this.compiler = compiler;
-        this.link = link;
+        this.links = links;
+        this.instrumentation = instrumentation;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public DefaultHandler(Compiler compiler, Supplier<Link> links, Instrumentation instrumentation) {
+        this(compiler, links, instrumentation, null);
+    }
+
+    public DefaultHandler(Compiler compiler, Supplier<Link> links) {
+        this(compiler, links, null);
+    }
+
+    public DefaultHandler(Compiler compiler, Link link) {
+        this(compiler, () -> link);
+    }
+
+    protected Link link() {
+        return this.links.get();
+    }
+
+    protected boolean instrumented() {
+        return null != this.instrumentation && this.instrumentation.enabled();
+    }
+
+    protected boolean timed() {
+        return this.instrumented() || (null != this.slowQueryLog && this.slowQueryLog.enabled());
+    }
+
+    protected void failed(SQLType type, String sql) {
+        if (this.instrumented()) {
+            this.instrumentation.failed(type, sql);
+        }
+    }
+
+    protected void executed(SQLType type, String sql, Bindings bindings,
+            long compileTime, long executeTime, long conversionTime, long rows) {
+        if (this.instrumented()) {
+            this.instrumentation.executed(type, sql, compileTime, executeTime, conversionTime, rows);
+        }
+        if (null == this.slowQueryLog || !this.slowQueryLog.isSlow(executeTime + conversionTime)) {
+            return;
+        }
+        Object[] objects = null == bindings ? new Object[0] : bindings.getArray(new String[]{"values", "wheres", "havings"});
+        String plan = null;
+        if (this.slowQueryLog.explain() && SQLType.INSERT != type && null != bindings) {
+            plan = this.explain(sql, objects);
+        }
+        this.slowQueryLog.record(type, sql, objects, executeTime + conversionTime, rows, plan);
+    }
+
+    protected String explain(String sql, Object[] objects) {
+        if (!(this.compiler instanceof QueryGrammar)) {
+            return null;
+        }
+        String explainSql = QueryGrammar.class.cast(this.compiler).compileExplain(sql);
+        Bindings bindings = new Bindings();
+        bindings.set("wheres", objects);
+        Link link = this.link();
+        try {
+            RowList plan = link.select(explainSql, bindings);
+            StringJoiner lines = new StringJoiner(String.format("%n"));
+            for (Row row : plan) {
+                StringJoiner line = new StringJoiner(", ");
+                for (String key : row.keys()) {
+                    line.add(key + "=" + row.value(key));
+                }
+                lines.add(line.toString());
+            }
+            return lines.toString();
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to explain {}", sql, ex);
+            return null;
+        } finally {
+            link.takeConversionTime();
+        }
     }
 
     protected void log(String sql, Bindings bindings) {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
         StringBuilder builder = new StringBuilder();
         if (null != bindings) {
             Object[] objects = bindings.getArray();
@@ -64,49 +152,172 @@ public class DefaultHandler implements Handler {
         if (!SQLType.SELECT.equals(compilable.type())) {
             throw new InvalidSQLException("Only SELECT statements can fetch results");
         }
+        boolean timed = this.timed();
+        long start = timed ? System.nanoTime() : 0L;
         String sql = this.compiler.compile(compilable);
-        Bindings bindings = compilable.bindings();
-        RowList rows = this.link.select(sql, bindings);
+        return this.fetch(sql, compilable.bindings(), timed ? System.nanoTime() - start : 0L);
+    }
+
+    public RowList fetch(String sql, Bindings bindings, long compileTime) {
+        boolean timed = this.timed();
+        long compiled = timed ? System.nanoTime() : 0L;
+        Link link = this.link();
+        link.setConversionTimed(timed);
+        RowList rows;
+        try {
+            rows = link.select(sql, bindings);
+        } catch (RuntimeException ex) {
+            if (timed) {
+                link.takeConversionTime();
+                this.failed(SQLType.SELECT, sql);
+            }
+            throw ex;
+        }
+        if (timed) {
+            long conversion = link.takeConversionTime();
+            long executed = System.nanoTime() - compiled - conversion;
+            this.executed(SQLType.SELECT, sql, bindings, compileTime, executed, conversion, rows.size());
+        }
         this.log(sql, bindings);
         return rows;
     }
 
+    @Override
+    public Cursor cursor(Compilable compilable, int fetchSize) {
+        if (!SQLType.SELECT.equals(compilable.type())) {
+            throw new InvalidSQLException("Only SELECT statements can fetch results");
+        }
+        boolean timed = this.timed();
+        long start = timed ? System.nanoTime() : 0L;
+        String sql = this.compiler.compile(compilable);
+        return this.cursor(sql, compilable.bindings(), fetchSize, timed ? System.nanoTime() - start : 0L);
+    }
+
+    public Cursor cursor(String sql, Bindings bindings, int fetchSize, long compileTime) {
+        boolean timed = this.timed();
+        long compiled = timed ? System.nanoTime() : 0L;
+        Cursor cursor;
+        try {
+            cursor = this.link().cursor(sql, bindings, fetchSize);
+        } catch (RuntimeException ex) {
+            if (timed) {
+                this.failed(SQLType.SELECT, sql);
+            }
+            throw ex;
+        }
+        if (timed) {
+            this.executed(SQLType.SELECT, sql, bindings, compileTime, System.nanoTime() - compiled, 0L, 0L);
+        }
+        this.log(sql, bindings);
+        return cursor;
+    }
+
     @Override
     public Affecting affect(Compilable compilable) {
+        boolean timed = this.timed();
+        long start = timed ? System.nanoTime() : 0L;
         String sql = this.compiler.compile(compilable);
-        Bindings bindings = compilable.bindings();
-        SQLType type = compilable.type();
+        return this.affect(compilable.type(), sql, compilable.bindings(), timed ? System.nanoTime() - start : 0L);
+    }
+
+    public Affecting affect(SQLType type, String sql, Bindings bindings, long compileTime) {
+        boolean timed = this.timed();
+        long compiled = timed ? System.nanoTime() : 0L;
         Affecting affecting = null;
-        switch (type) {
-            case INSERT:
-                affecting = this.link.insert(sql, bindings);
-                break;
-            case UPDATE:
-                affecting = this.link.update(sql, bindings);
-                break;
-            case DELETE:
-                affecting = this.link.delete(sql, bindings);
-                break;
-            default:
-                throw new InvalidSQLException("Invalid DML type " + type);
+        try {
+            switch (type) {
+                case INSERT:
+                    affecting = this.link().insert(sql, bindings);
+                    break;
+                case UPDATE:
+                    affecting = this.link().update(sql, bindings);
+                    break;
+                case DELETE:
+                    affecting = this.link().delete(sql, bindings);
+                    break;
+                default:
+                    throw new InvalidSQLException("Invalid DML type " + type);
+            }
+        } catch (RuntimeException ex) {
+            if (timed) {
+                this.failed(type, sql);
+            }
+            throw ex;
+        }
+        if (timed) {
+            this.executed(type, sql, bindings, compileTime, System.nanoTime() - compiled, 0L, affecting.count());
         }
         this.log(sql, bindings);
         return affecting;
     }
 
+    @Override
+    public Affecting[] batch(Compilable compilable, Object[][] values, int chunkSize) {
+        if (!SQLType.INSERT.equals(compilable.type())) {
+            throw new InvalidSQLException("Only INSERT statements can be batched from a query");
+        }
+        boolean timed = this.timed();
+        long start = timed ? System.nanoTime() : 0L;
+        String sql = this.compiler.compile(compilable);
+        return this.batch(SQLType.INSERT, sql, values, null, chunkSize, timed ? System.nanoTime() - start : 0L);
+    }
+
+    public Affecting[] batch(SQLType type, String sql, Object[][] values, Object[][] conditions, int chunkSize,
+            long compileTime) {
+        boolean timed = this.timed();
+        long compiled = timed ? System.nanoTime() : 0L;
+        Affecting[] affectings;
+        try {
+            affectings = this.link().batch(type, sql, values, conditions, chunkSize);
+        } catch (RuntimeException ex) {
+            if (timed) {
+                this.failed(type, sql);
+            }
+            throw ex;
+        }
+        if (timed) {
+            long rows = 0;
+            for (Affecting affecting : affectings) {
+                rows += affecting.count();
+            }
+            this.executed(type, sql, null, compileTime, System.nanoTime() - compiled, 0L, rows);
+        }
+        this.log(sql, null);
+        return affectings;
+    }
+
+    public LoadReport load(String sql, Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        boolean timed = this.timed();
+        long start = timed ? System.nanoTime() : 0L;
+        LoadReport report;
+        try {
+            report = this.link().load(sql, rows, chunkSize, commitSize);
+        } catch (RuntimeException ex) {
+            if (timed) {
+                this.failed(SQLType.INSERT, sql);
+            }
+            throw ex;
+        }
+        if (timed) {
+            this.executed(SQLType.INSERT, sql, null, 0L, System.nanoTime() - start, 0L, report.getRows());
+        }
+        this.log(sql, null);
+        return report;
+    }
+
     @Override
     public void execute(Compilable compilable) {
         String sql = this.compiler.compile(compilable);
         SQLType type = compilable.type();
         switch (type) {
             case CREATE:
-                this.link.create(sql);
+                this.link().create(sql);
                 break;
             case ALTER:
-                this.link.alter(sql);
+                this.link().alter(sql);
                 break;
             case DROP:
-                this.link.drop(sql);
+                this.link().drop(sql);
                 break;
             default:
                 throw new InvalidSQLException("Invalid DDL type: " + type);
@@ -18,6 +18,7 @@ package com.github.luischavez.database.handler;
 
 import com.github.luischavez.database.grammar.Compilable;
 import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
 import com.github.luischavez.database.link.RowList;
 
 /**
@@ -28,7 +29,11 @@ public interface Handler {
 
     public RowList fetch(Compilable compilable);
 
+    public Cursor cursor(Compilable compilable, int fetchSize);
+
     public Affecting affect(Compilable compilable);
 
+    public Affecting[] batch(Compilable compilable, Object[][] values, int chunkSize);
+
     public void execute(Compilable compilable);
 }
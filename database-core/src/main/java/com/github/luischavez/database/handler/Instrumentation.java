@@ -0,0 +1,36 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.handler;
+
+import com.github.luischavez.database.grammar.SQLType;
+
+/**
+ * Receives the timings of every statement executed by a handler, times are in
+ * nanoseconds. Handlers skip timing when the instrumentation isn't enabled.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public interface Instrumentation {
+
+    public boolean enabled();
+
+    public void executed(SQLType type, String sql, long compileTime, long executeTime, long conversionTime, long rows);
+
+    public void failed(SQLType type, String sql);
+
+    public void acquired(long waitTime);
+}
@@ -0,0 +1,225 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.handler;
+
+import com.github.luischavez.database.grammar.SQLType;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Per statement shape metrics, shapes are identified by their compiled SQL
+ * with placeholder and row lists collapsed, so IN lists and multi row inserts
+ * of any size share their stats. Shapes beyond the limit are grouped together.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Metrics implements Instrumentation, MetricsMXBean {
+
+    public static final String OTHER_STATEMENTS = "<other>";
+
+    private static final int DEFAULT_MAX_STATEMENTS = 1000;
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\.\\.\\.\\)(\\s*,\\s*\\(\\.\\.\\.\\))+");
+
+    private final Map<String, Statement> statements;
+    private final LatencyHistogram acquire;
+    private final int maxStatements;
+
+    private volatile boolean enabled;
+    private ObjectName objectName;
+
+    public Metrics(boolean enabled, int maxStatements) {
+        this.statements = new ConcurrentHashMap<>();
+        this.acquire = new LatencyHistogram();
+        this.maxStatements = 0 < maxStatements ? maxStatements : DEFAULT_MAX_STATEMENTS;
+        this.enabled = enabled;
+    }
+
+    public Metrics(boolean enabled) {
+        this(enabled, DEFAULT_MAX_STATEMENTS);
+    }
+
+    public Metrics() {
+        this(true);
+    }
+
+    public static String normalize(String sql) {
+        if (!sql.contains("(?") && !sql.contains("( ?")) {
+            return sql;
+        }
+        String lists = PLACEHOLDER_LIST.matcher(sql).replaceAll("(...)");
+        return ROW_LIST.matcher(lists).replaceAll("(...)");
+    }
+
+    protected Statement statement(SQLType type, String sql) {
+        String key = Metrics.normalize(sql);
+        Statement statement = this.statements.get(key);
+        if (null != statement) {
+            return statement;
+        }
+        if (this.statements.size() >= this.maxStatements) {
+            key = OTHER_STATEMENTS;
+            type = SQLType.NONE;
+        }
+        SQLType statementType = type;
+        return this.statements.computeIfAbsent(key, ignored -> new Statement(statementType));
+    }
+
+    @Override
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void executed(SQLType type, String sql, long compileTime, long executeTime, long conversionTime, long rows) {
+        Statement statement = this.statement(type, sql);
+        statement.compile.add(compileTime);
+        statement.execute.record(executeTime);
+        statement.conversion.add(conversionTime);
+        statement.rows.add(rows);
+    }
+
+    @Override
+    public void failed(SQLType type, String sql) {
+        this.statement(type, sql).errors.increment();
+    }
+
+    @Override
+    public void acquired(long waitTime) {
+        this.acquire.record(waitTime);
+    }
+
+    public StatementStats snapshot(String sql) {
+        Statement statement = this.statements.get(Metrics.normalize(sql));
+        return null == statement ? null : statement.snapshot(sql);
+    }
+
+    @Override
+    public List<StatementStats> getStatements() {
+        List<StatementStats> snapshots = new ArrayList<>();
+        for (Map.Entry<String, Statement> entry : this.statements.entrySet()) {
+            snapshots.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        snapshots.sort((first, second) -> Double.compare(
+                second.getMeanExecuteTime() * second.getCount(), first.getMeanExecuteTime() * first.getCount()));
+        return snapshots;
+    }
+
+    public LatencyHistogram getAcquire() {
+        return this.acquire;
+    }
+
+    @Override
+    public long getAcquireCount() {
+        return this.acquire.getCount();
+    }
+
+    @Override
+    public long getMedianAcquireTime() {
+        return this.acquire.getPercentile(50);
+    }
+
+    @Override
+    public long getP99AcquireTime() {
+        return this.acquire.getPercentile(99);
+    }
+
+    @Override
+    public long getMaxAcquireTime() {
+        return this.acquire.getMax();
+    }
+
+    @Override
+    public void reset() {
+        this.statements.clear();
+        this.acquire.reset();
+    }
+
+    public synchronized void register(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName registered = new ObjectName("com.github.luischavez.database:type=Metrics,name=" + ObjectName.quote(name));
+            if (server.isRegistered(registered)) {
+                server.unregisterMBean(registered);
+            }
+            server.registerMBean(this, registered);
+            this.objectName = registered;
+        } catch (JMException ex) {
+            throw new IllegalStateException("Can't register metrics " + name, ex);
+        }
+    }
+
+    public synchronized void unregister() {
+        if (null == this.objectName) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        } catch (JMException ex) {
+            throw new IllegalStateException("Can't unregister metrics " + this.objectName, ex);
+        } finally {
+            this.objectName = null;
+        }
+    }
+
+    static class Statement {
+
+        final SQLType type;
+        final LongAdder compile;
+        final LatencyHistogram execute;
+        final LongAdder conversion;
+        final LongAdder rows;
+        final LongAdder errors;
+
+        Statement(SQLType type) {
+            this.type = type;
+            this.compile = new LongAdder();
+            this.execute = new LatencyHistogram();
+            this.conversion = new LongAdder();
+            this.rows = new LongAdder();
+            this.errors = new LongAdder();
+        }
+
+        StatementStats snapshot(String sql) {
+            long count = this.execute.getCount();
+            return new StatementStats(sql, this.type.name(), count, this.errors.sum(), this.rows.sum(),
+                    0 == count ? 0D : (double) this.compile.sum() / count, this.execute,
+                    0 == count ? 0D : (double) this.conversion.sum() / count);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.handler;
+
+import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.link.RowList;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least recently used cache of query results, entries expire after their ttl
+ * and are invalidated by the tables they read. Each table keeps the generation
+ * of its last write so results read before it are never stored. Tables written
+ * inside a transaction are invalidated again once it commits or rolls back.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class ResultCache {
+
+    private final int maxSize;
+    private final long defaultTtl;
+    private final Map<Key, Entry> entries;
+    private final Map<String, Set<Key>> tables;
+    private final Map<String, Long> modified;
+    private final Map<Link, Set<String>> pending;
+    private final AtomicLong generation;
+    private long cleared;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder invalidations;
+
+    public ResultCache(int maxSize, long defaultTtl) {
+        this.maxSize = maxSize;
+        this.defaultTtl = defaultTtl;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (this.size() > ResultCache.this.maxSize) {
+                    ResultCache.this.unindex(eldest.getKey(), eldest.getValue());
+                    ResultCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.tables = new HashMap<>();
+        this.modified = new HashMap<>();
+        this.pending = new WeakHashMap<>();
+        this.generation = new AtomicLong();
+        this.cleared = 0L;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.invalidations = new LongAdder();
+    }
+
+    public ResultCache(int maxSize) {
+        this(maxSize, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    public static String tableKey(String tableName) {
+        return tableName.trim().split("\\s+")[0].toLowerCase();
+    }
+
+    protected void unindex(Key key, Entry entry) {
+        for (String table : entry.tables) {
+            Set<Key> keys = this.tables.get(table);
+            if (null != keys) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    this.tables.remove(table);
+                }
+            }
+        }
+    }
+
+    public boolean enabled() {
+        return 0 < this.maxSize;
+    }
+
+    public synchronized long generation(Set<String> tableNames) {
+        long last = this.cleared;
+        for (String table : tableNames) {
+            Long stamp = this.modified.get(table);
+            if (null != stamp && stamp > last) {
+                last = stamp;
+            }
+        }
+        return last;
+    }
+
+    public RowList get(String sql, Object[] parameters) {
+        if (!this.enabled()) {
+            return null;
+        }
+        Key key = new Key(sql, parameters);
+        RowList rows;
+        synchronized (this) {
+            Entry entry = this.entries.get(key);
+            if (null != entry && entry.expired(System.nanoTime())) {
+                this.entries.remove(key);
+                this.unindex(key, entry);
+                entry = null;
+            }
+            if (null == entry) {
+                this.misses.increment();
+                return null;
+            }
+            rows = entry.rows;
+        }
+        this.hits.increment();
+        return rows.copy();
+    }
+
+    public void put(String sql, Object[] parameters, Set<String> tableNames, RowList rows, long ttl, long generation) {
+        if (!this.enabled()) {
+            return;
+        }
+        Key key = new Key(sql, parameters);
+        long expires = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(0 < ttl ? ttl : this.defaultTtl);
+        Entry entry = new Entry(rows.copy(), tableNames, expires);
+        synchronized (this) {
+            if (generation != this.generation(tableNames)) {
+                return;
+            }
+            Entry previous = this.entries.put(key, entry);
+            if (null != previous) {
+                this.unindex(key, previous);
+            }
+            for (String table : tableNames) {
+                this.tables.computeIfAbsent(table, name -> new HashSet<>()).add(key);
+            }
+        }
+    }
+
+    public void invalidate(String tableName) {
+        String table = ResultCache.tableKey(tableName);
+        synchronized (this) {
+            this.modified.put(table, this.generation.incrementAndGet());
+            Set<Key> keys = this.tables.remove(table);
+            if (null == keys) {
+                return;
+            }
+            for (Key key : keys) {
+                Entry entry = this.entries.remove(key);
+                if (null != entry) {
+                    this.unindex(key, entry);
+                    this.invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public void invalidate(String tableName, Link link) {
+        this.invalidate(tableName);
+        if (null != link && link.inTransaction()) {
+            synchronized (this) {
+                this.pending.computeIfAbsent(link, key -> new HashSet<>()).add(ResultCache.tableKey(tableName));
+            }
+        }
+    }
+
+    public void completed(Link link) {
+        Set<String> written;
+        synchronized (this) {
+            written = this.pending.remove(link);
+        }
+        if (null != written) {
+            for (String table : written) {
+                this.invalidate(table);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            this.cleared = this.generation.incrementAndGet();
+            this.modified.clear();
+            this.entries.clear();
+            this.tables.clear();
+        }
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public long getDefaultTtl() {
+        return this.defaultTtl;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return this.invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = this.getHits();
+        long total = hitCount + this.getMisses();
+        return 0 == total ? 0D : (double) hitCount / total;
+    }
+
+    static class Key {
+
+        final String sql;
+        final Object[] parameters;
+        final int hash;
+
+        Key(String sql, Object[] parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.hash = 31 * sql.hashCode() + Arrays.deepHashCode(parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key other = Key.class.cast(object);
+            return this.sql.equals(other.sql) && Arrays.deepEquals(this.parameters, other.parameters);
+        }
+    }
+
+    static class Entry {
+
+        final RowList rows;
+        final Set<String> tables;
+        final long expires;
+
+        Entry(RowList rows, Set<String> tables, long expires) {
+            this.rows = rows;
+            this.tables = tables;
+            this.expires = expires;
+        }
+
+        boolean expired(long now) {
+            return 0 < now - this.expires;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.handler;
+
+import com.github.luischavez.database.grammar.SQLType;
+
+import java.util.Arrays;
+
+/**
+ * Statement that took longer than the slow query threshold, times are in
+ * nanoseconds.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class SlowQuery {
+
+    private final long timestamp;
+    private final SQLType type;
+    private final String sql;
+    private final Object[] bindings;
+    private final long duration;
+    private final long rows;
+    private final String plan;
+
+    public SlowQuery(long timestamp, SQLType type, String sql, Object[] bindings, long duration, long rows, String plan) {
+        this.timestamp = timestamp;
+        this.type = type;
+        this.sql = sql;
+        this.bindings = bindings;
+        this.duration = duration;
+        this.rows = rows;
+        this.plan = plan;
+    }
+
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    public SQLType getType() {
+        return this.type;
+    }
+
+    public String getSql() {
+        return this.sql;
+    }
+
+    public Object[] getBindings() {
+        return this.bindings.clone();
+    }
+
+    public long getDuration() {
+        return this.duration;
+    }
+
+    public long getRows() {
+        return this.rows;
+    }
+
+    public String getPlan() {
+        return this.plan;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%d ms, %d rows] %s %s", this.type, this.duration / 1000000L, this.rows,
+                this.sql, Arrays.toString(this.bindings));
+    }
+}
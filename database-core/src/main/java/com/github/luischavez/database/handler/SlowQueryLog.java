@@ -0,0 +1,106 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.handler;
+
+import com.github.luischavez.database.grammar.SQLType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded ring buffer of the statements slower than a threshold, the oldest
+ * entries are overwritten once it's full.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class SlowQueryLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final SlowQuery[] entries;
+    private final boolean explain;
+
+    private volatile long threshold;
+    private long recorded;
+
+    public SlowQueryLog(long threshold, int size, boolean explain) {
+        if (0 > size) {
+            throw new IllegalArgumentException("Invalid slow query log size " + size);
+        }
+        this.entries = new SlowQuery[size];
+        this.explain = explain;
+        this.setThreshold(threshold);
+    }
+
+    public SlowQueryLog(long threshold, int size) {
+        this(threshold, size, false);
+    }
+
+    public boolean enabled() {
+        return 0 < this.threshold && 0 < this.entries.length;
+    }
+
+    public boolean explain() {
+        return this.explain;
+    }
+
+    public long getThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(this.threshold);
+    }
+
+    public final void setThreshold(long threshold) {
+        this.threshold = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, threshold));
+    }
+
+    public boolean isSlow(long duration) {
+        long current = this.threshold;
+        return 0 < current && duration >= current;
+    }
+
+    public void record(SQLType type, String sql, Object[] bindings, long duration, long rows, String plan) {
+        SlowQuery slowQuery = new SlowQuery(System.currentTimeMillis(), type, sql, bindings, duration, rows, plan);
+        synchronized (this) {
+            this.entries[(int) (this.recorded % this.entries.length)] = slowQuery;
+            this.recorded++;
+        }
+        LOGGER.warn("Slow query: {}", slowQuery);
+    }
+
+    public synchronized long getRecorded() {
+        return this.recorded;
+    }
+
+    public synchronized List<SlowQuery> getEntries() {
+        int size = (int) Math.min(this.recorded, this.entries.length);
+        List<SlowQuery> list = new ArrayList<>(size);
+        for (long i = this.recorded - size; i < this.recorded; i++) {
+            list.add(this.entries[(int) (i % this.entries.length)]);
+        }
+        return list;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < this.entries.length; i++) {
+            this.entries[i] = null;
+        }
+        this.recorded = 0L;
+    }
+}
@@ -0,0 +1,109 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.handler;
+
+/**
+ * Snapshot of the metrics of a statement shape, times are in nanoseconds.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class StatementStats {
+
+    private final String sql;
+    private final String type;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final double meanCompileTime;
+    private final double meanExecuteTime;
+    private final double meanConversionTime;
+    private final long medianExecuteTime;
+    private final long p95ExecuteTime;
+    private final long p99ExecuteTime;
+    private final long maxExecuteTime;
+
+    public StatementStats(String sql, String type, long count, long errors, long rows,
+            double meanCompileTime, LatencyHistogram execute, double meanConversionTime) {
+        this.sql = sql;
+        this.type = type;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.meanCompileTime = meanCompileTime;
+        this.meanExecuteTime = execute.getMean();
+        this.meanConversionTime = meanConversionTime;
+        this.medianExecuteTime = execute.getPercentile(50);
+        this.p95ExecuteTime = execute.getPercentile(95);
+        this.p99ExecuteTime = execute.getPercentile(99);
+        this.maxExecuteTime = execute.getMax();
+    }
+
+    public String getSql() {
+        return this.sql;
+    }
+
+    public String getType() {
+        return this.type;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getErrors() {
+        return this.errors;
+    }
+
+    public long getRows() {
+        return this.rows;
+    }
+
+    public double getMeanCompileTime() {
+        return this.meanCompileTime;
+    }
+
+    public double getMeanExecuteTime() {
+        return this.meanExecuteTime;
+    }
+
+    public double getMeanConversionTime() {
+        return this.meanConversionTime;
+    }
+
+    public long getMedianExecuteTime() {
+        return this.medianExecuteTime;
+    }
+
+    public long getP95ExecuteTime() {
+        return this.p95ExecuteTime;
+    }
+
+    public long getP99ExecuteTime() {
+        return this.p99ExecuteTime;
+    }
+
+    public long getMaxExecuteTime() {
+        return this.maxExecuteTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s x%d (%d errors, %d rows) execute p50=%dns p99=%dns max=%dns: %s",
+                this.type, this.count, this.errors, this.rows,
+                this.medianExecuteTime, this.p99ExecuteTime, this.maxExecuteTime, this.sql);
+    }
+}
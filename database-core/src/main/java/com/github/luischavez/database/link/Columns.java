@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable column name dictionary shared by all the rows of a result.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Columns {
+
+    private final String[] names;
+    private final String[] keys;
+    private final Map<String, Integer> slots;
+
+    public Columns(String... names) {
+        this.names = Arrays.copyOf(names, names.length);
+        this.slots = new HashMap<>();
+        Set<String> distinct = new LinkedHashSet<>();
+        for (int i = 0; i < names.length; i++) {
+            this.slots.put(names[i], i);
+            distinct.add(names[i]);
+        }
+        this.keys = distinct.toArray(new String[0]);
+    }
+
+    public int size() {
+        return this.names.length;
+    }
+
+    public String name(int slot) {
+        return this.names[slot];
+    }
+
+    public int slot(String name) {
+        Integer slot = this.slots.get(name);
+        return null == slot ? -1 : slot;
+    }
+
+    public boolean contains(String name) {
+        return this.slots.containsKey(name);
+    }
+
+    public String[] keys() {
+        return Arrays.copyOf(this.keys, this.keys.length);
+    }
+
+    public Columns with(String name) {
+        String[] extended = Arrays.copyOf(this.names, this.names.length + 1);
+        extended[this.names.length] = name;
+        return new Columns(extended);
+    }
+}
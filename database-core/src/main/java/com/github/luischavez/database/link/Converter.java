@@ -0,0 +1,53 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import com.github.luischavez.database.function.Transform;
+
+/**
+ * Per column converter, keeps the transform resolved for the last seen
+ * value class so a column of uniform values resolves it only once.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Converter {
+
+    private final Converters converters;
+    private final boolean java;
+
+    private Class<?> type;
+    private Transform<Object> transform;
+
+    public Converter(Converters converters, boolean java) {
+        this.converters = converters;
+        this.java = java;
+        this.type = null;
+        this.transform = null;
+    }
+
+    public Object apply(Object value) {
+        if (null == value) {
+            return null;
+        }
+        Class<?> clazz = value.getClass();
+        if (clazz != this.type) {
+            this.transform = this.java ? this.converters.java(clazz) : this.converters.database(clazz);
+            this.type = clazz;
+        }
+        return this.transform.apply(value);
+    }
+}
@@ -0,0 +1,193 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import com.github.luischavez.database.function.Transform;
+
+import java.io.Serializable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.nio.ByteBuffer;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Type converter registry, transforms are resolved once per class and
+ * cached, user registered transforms take precedence over the defaults.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Converters {
+
+    private static final Converters DEFAULT = Converters.defaults();
+
+    private final List<Registration> javaRegistrations;
+    private final List<Registration> databaseRegistrations;
+    private final List<Class<?>> javaOverrides;
+    private final Map<Class<?>, Transform<Object>> javaCache;
+    private final Map<Class<?>, Transform<Object>> databaseCache;
+
+    public Converters() {
+        this.javaRegistrations = new CopyOnWriteArrayList<>();
+        this.databaseRegistrations = new CopyOnWriteArrayList<>();
+        this.javaOverrides = new CopyOnWriteArrayList<>();
+        this.javaCache = new ConcurrentHashMap<>();
+        this.databaseCache = new ConcurrentHashMap<>();
+    }
+
+    public static Converters getDefault() {
+        return Converters.DEFAULT;
+    }
+
+    public static Converters defaults() {
+        Converters converters = new Converters();
+        converters.addJava(Long.class, Transforms::same);
+        converters.addJava(BigInteger.class, Transforms::toLong);
+        converters.addJava(Integer.class, Transforms::toLong);
+        converters.addJava(Short.class, Transforms::toLong);
+        converters.addJava(BigDecimal.class, Transforms::same);
+        converters.addJava(Float.class, Transforms::toBigDecimal);
+        converters.addJava(Double.class, Transforms::toBigDecimal);
+        converters.addJava(String.class, Transforms::same);
+        converters.addJava(Clob.class, Transforms::toString);
+        converters.addJava(NClob.class, Transforms::toString);
+        converters.addJava(Character.class, Transforms::toString);
+        converters.addJava(Date.class, Transforms::toLocalDate);
+        converters.addJava(Time.class, Transforms::toLocalTime);
+        converters.addJava(Timestamp.class, Transforms::toLocalDateTime);
+        converters.addJava(Blob.class, Transforms::toByteBuffer);
+        converters.addJava(byte[].class, Transforms::toByteBuffer);
+        converters.addJava(Boolean.class, Transforms::same);
+        converters.addDatabase(Long.class, Transforms::same);
+        converters.addDatabase(BigInteger.class, Transforms::toLong);
+        converters.addDatabase(Integer.class, Transforms::toLong);
+        converters.addDatabase(Short.class, Transforms::toLong);
+        converters.addDatabase(BigDecimal.class, Transforms::same);
+        converters.addDatabase(Float.class, Transforms::toBigDecimal);
+        converters.addDatabase(Double.class, Transforms::toBigDecimal);
+        converters.addDatabase(String.class, Transforms::same);
+        converters.addDatabase(Clob.class, Transforms::toString);
+        converters.addDatabase(NClob.class, Transforms::toString);
+        converters.addDatabase(Character.class, Transforms::toString);
+        converters.addDatabase(LocalDate.class, Transforms::toDate);
+        converters.addDatabase(LocalTime.class, Transforms::toTime);
+        converters.addDatabase(LocalDateTime.class, Transforms::toTimestamp);
+        converters.addDatabase(ByteBuffer.class, Transforms::toBlob);
+        converters.addDatabase(byte[].class, Transforms::toBlob);
+        converters.addDatabase(Serializable.class, Transforms::toBlob);
+        converters.addDatabase(Boolean.class, Transforms::same);
+        return converters;
+    }
+
+    protected <T> void addJava(Class<T> type, Transform<T> transform) {
+        this.javaRegistrations.add(new Registration(type, transform));
+        this.javaCache.clear();
+    }
+
+    protected <T> void addDatabase(Class<T> type, Transform<T> transform) {
+        this.databaseRegistrations.add(new Registration(type, transform));
+        this.databaseCache.clear();
+    }
+
+    public <T> void registerJava(Class<T> type, Transform<T> transform) {
+        this.javaRegistrations.add(0, new Registration(type, transform));
+        this.javaOverrides.add(type);
+        this.javaCache.clear();
+    }
+
+    public boolean overridesJava() {
+        return !this.javaOverrides.isEmpty();
+    }
+
+    public boolean overridesJava(Class<?> clazz) {
+        for (Class<?> type : this.javaOverrides) {
+            if (type.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public <T> void registerDatabase(Class<T> type, Transform<T> transform) {
+        this.databaseRegistrations.add(0, new Registration(type, transform));
+        this.databaseCache.clear();
+    }
+
+    protected Transform<Object> resolve(List<Registration> registrations, Class<?> clazz, String target) {
+        for (Registration registration : registrations) {
+            if (registration.type.isAssignableFrom(clazz)) {
+                return registration.transform;
+            }
+        }
+        return value -> {
+            throw new TransformException("Can't transform value " + clazz.getName() + " to " + target + " type");
+        };
+    }
+
+    public Transform<Object> java(Class<?> clazz) {
+        return this.javaCache.computeIfAbsent(clazz,
+                key -> this.resolve(this.javaRegistrations, key, "java"));
+    }
+
+    public Transform<Object> database(Class<?> clazz) {
+        return this.databaseCache.computeIfAbsent(clazz,
+                key -> this.resolve(this.databaseRegistrations, key, "database"));
+    }
+
+    public Object toJava(Object value) {
+        return null == value ? null : this.java(value.getClass()).apply(value);
+    }
+
+    public Object toDatabase(Object value) {
+        return null == value ? null : this.database(value.getClass()).apply(value);
+    }
+
+    public Converter javaConverter() {
+        return new Converter(this, true);
+    }
+
+    public Converter databaseConverter() {
+        return new Converter(this, false);
+    }
+
+    static class Registration {
+
+        final Class<?> type;
+        final Transform<Object> transform;
+
+        <T> Registration(Class<T> type, Transform<T> transform) {
+            this.type = type;
+            this.transform = value -> transform.apply(type.cast(value));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily pulled rows backed by an open result, must be closed when finished.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public abstract class Cursor implements Iterator<Row>, Iterable<Row>, AutoCloseable {
+
+    private Row nextRow;
+    private boolean exhausted;
+
+    public Cursor() {
+        this.nextRow = null;
+        this.exhausted = false;
+    }
+
+    protected abstract Row fetch();
+
+    protected abstract void release();
+
+    @Override
+    public boolean hasNext() {
+        if (null == this.nextRow && !this.exhausted) {
+            this.nextRow = this.fetch();
+            if (null == this.nextRow) {
+                this.close();
+            }
+        }
+        return null != this.nextRow;
+    }
+
+    @Override
+    public Row next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = this.nextRow;
+        this.nextRow = null;
+        return row;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return this;
+    }
+
+    public Stream<Row> stream() {
+        Spliterator<Row> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    public boolean closed() {
+        return this.exhausted;
+    }
+
+    @Override
+    public void close() {
+        if (!this.exhausted) {
+            this.exhausted = true;
+            this.nextRow = null;
+            this.release();
+        }
+    }
+}
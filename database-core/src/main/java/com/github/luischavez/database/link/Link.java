@@ -16,28 +16,10 @@
  */
 package com.github.luischavez.database.link;
 
-import com.github.luischavez.database.function.Fluentable;
-import com.github.luischavez.database.function.Transform;
 import com.github.luischavez.database.grammar.Bindings;
+import com.github.luischavez.database.grammar.SQLType;
 
-import java.io.Serializable;
-
-import java.math.BigDecimal;
-import java.math.BigInteger;
-
-import java.nio.ByteBuffer;
-
-import java.sql.Blob;
-import java.sql.Clob;
-import java.sql.Date;
-import java.sql.NClob;
-import java.sql.Time;
-import java.sql.Timestamp;
-
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -46,73 +28,56 @@ import java.util.Map;
  */
 public abstract class Link {
 
-    protected <T> void apply(Bundle bundle, Class<T> type, Transform<T> transform) {
-        if (bundle.modified()) {
-            return;
-        }
-        Object value = bundle.getValue();
-        Class<? extends Object> clazz = value.getClass();
-        if (type.isAssignableFrom(clazz)) {
-            Object transformed = transform.apply(type.cast(value));
-            bundle.setValue(transformed);
-        }
+    private final Converters converters;
+
+    private long conversionTime;
+    private boolean conversionTimed;
+
+    public Link(Converters converters) {
+        this.converters = converters;
+        this.conversionTime = 0L;
     }
 
-    protected Object transform(Object value, Fluentable<Bundle> fluentable) {
-        if (null == value) {
-            return value;
-        }
-        Bundle bundle = new Bundle(value);
-        fluentable.fluent(bundle);
-        if (!bundle.modified()) {
-            throw new TransformException("Can't transform value " + value.getClass().getName() + " to java type");
-        }
-        return bundle.getValue();
+    public Link() {
+        this(Converters.getDefault());
+    }
+
+    public Converters getConverters() {
+        return this.converters;
+    }
+
+    public boolean isConversionTimed() {
+        return this.conversionTimed;
+    }
+
+    public void setConversionTimed(boolean conversionTimed) {
+        this.conversionTimed = conversionTimed;
+    }
+
+    protected void addConversionTime(long nanos) {
+        this.conversionTime += nanos;
+    }
+
+    public long takeConversionTime() {
+        long time = this.conversionTime;
+        this.conversionTime = 0L;
+        return time;
     }
 
     protected Object toJava(Object value) {
-        return this.transform(value, bundle -> {
-            this.apply(bundle, Long.class, Transforms::same);
-            this.apply(bundle, BigInteger.class, Transforms::toLong);
-            this.apply(bundle, Integer.class, Transforms::toLong);
-            this.apply(bundle, Short.class, Transforms::toLong);
-            this.apply(bundle, BigDecimal.class, Transforms::same);
-            this.apply(bundle, Float.class, Transforms::toBigDecimal);
-            this.apply(bundle, Double.class, Transforms::toBigDecimal);
-            this.apply(bundle, String.class, Transforms::same);
-            this.apply(bundle, Clob.class, Transforms::toString);
-            this.apply(bundle, NClob.class, Transforms::toString);
-            this.apply(bundle, Character.class, Transforms::toString);
-            this.apply(bundle, Date.class, Transforms::toLocalDate);
-            this.apply(bundle, Time.class, Transforms::toLocalTime);
-            this.apply(bundle, Timestamp.class, Transforms::toLocalDateTime);
-            this.apply(bundle, Blob.class, Transforms::toByteBuffer);
-            this.apply(bundle, byte[].class, Transforms::toByteBuffer);
-            this.apply(bundle, Boolean.class, Transforms::same);
-        });
+        return this.converters.toJava(value);
     }
 
     protected Object toDatabase(Object value) {
-        return this.transform(value, bundle -> {
-            this.apply(bundle, Long.class, Transforms::same);
-            this.apply(bundle, BigInteger.class, Transforms::toLong);
-            this.apply(bundle, Integer.class, Transforms::toLong);
-            this.apply(bundle, Short.class, Transforms::toLong);
-            this.apply(bundle, BigDecimal.class, Transforms::same);
-            this.apply(bundle, Float.class, Transforms::toBigDecimal);
-            this.apply(bundle, Double.class, Transforms::toBigDecimal);
-            this.apply(bundle, String.class, Transforms::same);
-            this.apply(bundle, Clob.class, Transforms::toString);
-            this.apply(bundle, NClob.class, Transforms::toString);
-            this.apply(bundle, Character.class, Transforms::toString);
-            this.apply(bundle, LocalDate.class, Transforms::toDate);
-            this.apply(bundle, LocalTime.class, Transforms::toTime);
-            this.apply(bundle, LocalDateTime.class, Transforms::toTimestamp);
-            this.apply(bundle, ByteBuffer.class, Transforms::toBlob);
-            this.apply(bundle, byte[].class, Transforms::toBlob);
-            this.apply(bundle, Serializable.class, Transforms::toBlob);
-            this.apply(bundle, Boolean.class, Transforms::same);
-        });
+        return this.converters.toDatabase(value);
+    }
+
+    protected Converter[] javaConverters(int count) {
+        Converter[] javaConverters = new Converter[count];
+        for (int i = 0; i < count; i++) {
+            javaConverters[i] = this.converters.javaConverter();
+        }
+        return javaConverters;
     }
 
     protected void toDatabase(Bindings bindings) {
@@ -134,14 +99,34 @@ public abstract class Link {
         return row;
     }
 
+    protected Row toJava(Columns columns, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.toJava(values[i]);
+        }
+        return new Row(columns, values);
+    }
+
+    protected Row toJava(Columns columns, Object[] values, Converter[] javaConverters) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = javaConverters[i].apply(values[i]);
+        }
+        return new Row(columns, values);
+    }
+
     public abstract RowList select(String sql, Bindings bindings);
 
+    public abstract Cursor cursor(String sql, Bindings bindings, int fetchSize);
+
     public abstract Affecting insert(String sql, Bindings bindings);
 
     public abstract Affecting update(String sql, Bindings bindings);
 
+    public abstract Affecting[] batch(SQLType type, String sql, Object[][] values, Object[][] conditions, int chunkSize);
+
     public abstract Affecting delete(String sql, Bindings bindings);
 
+    public abstract LoadReport load(String sql, Iterator<Object[]> rows, int chunkSize, int commitSize);
+
     public abstract void create(String sql);
 
     public abstract void alter(String sql);
@@ -149,4 +134,22 @@ public abstract class Link {
     public abstract void drop(String sql);
 
     public abstract boolean exists(String tableName);
+
+    public abstract void begin(Isolation isolation);
+
+    public void begin() {
+        this.begin(Isolation.DEFAULT);
+    }
+
+    public abstract void commit();
+
+    public abstract void rollback();
+
+    public abstract boolean inTransaction();
+
+    public abstract void savepoint(String name);
+
+    public abstract void rollback(String savepoint);
+
+    public abstract void release(String savepoint);
 }
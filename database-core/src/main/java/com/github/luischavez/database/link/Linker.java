@@ -29,4 +29,6 @@ public interface Linker {
     public Link open();
 
     public void close(Link link);
+
+    public void shutdown();
 }
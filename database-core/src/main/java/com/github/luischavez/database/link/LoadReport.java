@@ -0,0 +1,68 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a bulk load, rows written, chunks, commits and elapsed time.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class LoadReport {
+
+    private final long rows;
+    private final int chunks;
+    private final int commits;
+    private final long elapsedNanos;
+
+    public LoadReport(long rows, int chunks, int commits, long elapsedNanos) {
+        this.rows = rows;
+        this.chunks = chunks;
+        this.commits = commits;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRows() {
+        return this.rows;
+    }
+
+    public int getChunks() {
+        return this.chunks;
+    }
+
+    public int getCommits() {
+        return this.commits;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos);
+    }
+
+    public double getRowsPerSecond() {
+        if (0 == this.elapsedNanos) {
+            return 0;
+        }
+        return this.rows * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows in %d chunks, %d commits, %d ms (%.0f rows/s)",
+                this.rows, this.chunks, this.commits, this.getElapsedMillis(), this.getRowsPerSecond());
+    }
+}
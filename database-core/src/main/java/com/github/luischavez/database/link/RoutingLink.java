@@ -0,0 +1,289 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import com.github.luischavez.database.grammar.Bindings;
+import com.github.luischavez.database.grammar.SQLType;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Link of a {@link RoutingLinker}, reads go to a replica except inside a
+ * transaction and for a short window after a write, so the link reads its own
+ * writes. A replica failing a read is backed off and the read is retried on
+ * the primary.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class RoutingLink extends Link {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoutingLink.class);
+
+    private final Link primary;
+    private final Supplier<Reader> readers;
+    private final long stickyWindow;
+
+    private Reader reader;
+    private boolean pending;
+    private long stickyUntil;
+
+    public RoutingLink(Link primary, Supplier<Reader> readers, long stickyWindow) {
+        super(primary.getConverters());
+        this.primary = primary;
+        this.readers = readers;
+        this.stickyWindow = stickyWindow;
+        this.reader = null;
+        this.pending = false;
+        this.stickyUntil = System.nanoTime();
+    }
+
+    public Link getPrimary() {
+        return this.primary;
+    }
+
+    protected Reader getReader() {
+        return this.reader;
+    }
+
+    public boolean isSticky() {
+        return this.primary.inTransaction() || 0 < this.stickyUntil - System.nanoTime();
+    }
+
+    public Link writer() {
+        this.written();
+        return this.primary;
+    }
+
+    public void written() {
+        if (this.primary.inTransaction()) {
+            this.pending = true;
+        } else {
+            this.stickyUntil = System.nanoTime() + this.stickyWindow;
+        }
+    }
+
+    protected Reader reader() {
+        if (this.isSticky()) {
+            return null;
+        }
+        if (null == this.reader) {
+            this.reader = this.readers.get();
+        }
+        return this.reader;
+    }
+
+    protected <T> T fallback(Reader failed, RuntimeException cause, Supplier<T> read) {
+        T result;
+        try {
+            result = read.get();
+        } catch (RuntimeException ex) {
+            ex.addSuppressed(cause);
+            throw ex;
+        }
+        this.reader = null;
+        long backoff = failed.replica.failed(System.nanoTime());
+        LOGGER.warn("Replica {} failed a read, reading from primary for {} ms", failed.replica.name,
+                TimeUnit.NANOSECONDS.toMillis(backoff), cause);
+        try {
+            failed.replica.linker.close(failed.link);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Can't close replica {}", failed.replica.name, ex);
+        }
+        return result;
+    }
+
+    @Override
+    public long takeConversionTime() {
+        long time = this.primary.takeConversionTime();
+        if (null != this.reader) {
+            time += this.reader.link.takeConversionTime();
+        }
+        return time;
+    }
+
+    @Override
+    public RowList select(String sql, Bindings bindings) {
+        Reader current = this.reader();
+        this.primary.setConversionTimed(this.isConversionTimed());
+        if (null == current) {
+            return this.primary.select(sql, bindings);
+        }
+        current.link.setConversionTimed(this.isConversionTimed());
+        long start = System.nanoTime();
+        RowList rows;
+        try {
+            rows = current.link.select(sql, bindings);
+        } catch (RuntimeException ex) {
+            current.link.takeConversionTime();
+            return this.fallback(current, ex, () -> this.primary.select(sql, bindings));
+        }
+        current.replica.record(System.nanoTime() - start);
+        return rows;
+    }
+
+    @Override
+    public Cursor cursor(String sql, Bindings bindings, int fetchSize) {
+        Reader current = this.reader();
+        if (null == current) {
+            return this.primary.cursor(sql, bindings, fetchSize);
+        }
+        try {
+            return current.link.cursor(sql, bindings, fetchSize);
+        } catch (RuntimeException ex) {
+            return this.fallback(current, ex, () -> this.primary.cursor(sql, bindings, fetchSize));
+        }
+    }
+
+    @Override
+    public Affecting insert(String sql, Bindings bindings) {
+        try {
+            return this.primary.insert(sql, bindings);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public Affecting update(String sql, Bindings bindings) {
+        try {
+            return this.primary.update(sql, bindings);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public Affecting[] batch(SQLType type, String sql, Object[][] values, Object[][] conditions, int chunkSize) {
+        try {
+            return this.primary.batch(type, sql, values, conditions, chunkSize);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public Affecting delete(String sql, Bindings bindings) {
+        try {
+            return this.primary.delete(sql, bindings);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public LoadReport load(String sql, Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        try {
+            return this.primary.load(sql, rows, chunkSize, commitSize);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public void create(String sql) {
+        try {
+            this.primary.create(sql);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public void alter(String sql) {
+        try {
+            this.primary.alter(sql);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public void drop(String sql) {
+        try {
+            this.primary.drop(sql);
+        } finally {
+            this.written();
+        }
+    }
+
+    @Override
+    public boolean exists(String tableName) {
+        return this.primary.exists(tableName);
+    }
+
+    @Override
+    public void begin(Isolation isolation) {
+        this.primary.begin(isolation);
+    }
+
+    @Override
+    public void commit() {
+        try {
+            this.primary.commit();
+        } finally {
+            if (this.pending) {
+                this.pending = false;
+                this.written();
+            }
+        }
+    }
+
+    @Override
+    public void rollback() {
+        try {
+            this.primary.rollback();
+        } finally {
+            this.pending = false;
+        }
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return this.primary.inTransaction();
+    }
+
+    @Override
+    public void savepoint(String name) {
+        this.primary.savepoint(name);
+    }
+
+    @Override
+    public void rollback(String savepoint) {
+        this.primary.rollback(savepoint);
+    }
+
+    @Override
+    public void release(String savepoint) {
+        this.primary.release(savepoint);
+    }
+
+    static class Reader {
+
+        final RoutingLinker.Replica replica;
+        final Link link;
+
+        Reader(RoutingLinker.Replica replica, Link link) {
+            this.replica = replica;
+            this.link = link;
+        }
+    }
+}
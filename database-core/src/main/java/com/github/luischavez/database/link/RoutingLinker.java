@@ -0,0 +1,224 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import com.github.luischavez.database.configuration.ConfigurationException;
+import com.github.luischavez.database.configuration.DatabaseConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends reads to replicas and everything else to the primary, replicas are
+ * configured from prefixed properties of the primary configuration.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class RoutingLinker implements Linker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoutingLinker.class);
+
+    private static final int PROBE_INTERVAL = 16;
+    private static final long MIN_BACKOFF = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_BACKOFF = TimeUnit.MINUTES.toNanos(1);
+
+    private final Supplier<Linker> linkers;
+    private final AtomicInteger next;
+    private final AtomicInteger probes;
+
+    private Linker primary;
+    private List<Replica> replicas;
+    private boolean leastLatency;
+    private long stickyWindow;
+
+    public RoutingLinker(Supplier<Linker> linkers) {
+        this.linkers = linkers;
+        this.next = new AtomicInteger();
+        this.probes = new AtomicInteger();
+        this.replicas = Collections.emptyList();
+    }
+
+    protected DatabaseConfiguration replicaConfiguration(DatabaseConfiguration configuration, String replicaName) {
+        Map<String, String> properties = new HashMap<>(configuration.getProperties());
+        String prefix = replicaName + ".";
+        for (Map.Entry<String, String> entry : configuration.getProperties().entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                properties.put(entry.getKey().substring(prefix.length()), entry.getValue());
+            }
+        }
+        DatabaseConfiguration replicaConfiguration = new DatabaseConfiguration();
+        replicaConfiguration.setName(configuration.getName() + "-" + replicaName);
+        replicaConfiguration.setSupportClassName(configuration.getSupportClassName());
+        replicaConfiguration.setProperties(properties);
+        return replicaConfiguration;
+    }
+
+    @Override
+    public void configure(DatabaseConfiguration configuration) {
+        this.shutdown();
+        Map<String, String> properties = configuration.getProperties();
+        String balance = properties.getOrDefault("replica_balance", "round_robin").trim();
+        if (!"round_robin".equals(balance) && !"least_latency".equals(balance)) {
+            throw new ConfigurationException("Invalid replica_balance property " + balance);
+        }
+        this.leastLatency = "least_latency".equals(balance);
+        try {
+            this.stickyWindow = TimeUnit.MILLISECONDS.toNanos(
+                    Long.parseLong(properties.getOrDefault("replica_sticky_window", "1000").trim()));
+        } catch (NumberFormatException ex) {
+            throw new ConfigurationException("Invalid replica_sticky_window property", ex);
+        }
+        this.primary = this.linkers.get();
+        this.primary.configure(configuration);
+        List<Replica> configured = new ArrayList<>();
+        for (String replicaName : properties.getOrDefault("replicas", "").split(",")) {
+            if (!replicaName.trim().isEmpty()) {
+                Linker linker = this.linkers.get();
+                linker.configure(this.replicaConfiguration(configuration, replicaName.trim()));
+                configured.add(new Replica(replicaName.trim(), linker));
+            }
+        }
+        this.replicas = configured;
+    }
+
+    protected Replica choose() {
+        long now = System.nanoTime();
+        List<Replica> available = new ArrayList<>(this.replicas.size());
+        for (Replica replica : this.replicas) {
+            if (replica.available(now)) {
+                available.add(replica);
+            }
+        }
+        if (available.isEmpty()) {
+            return null;
+        }
+        if (this.leastLatency && 0 != Math.floorMod(this.probes.getAndIncrement(), PROBE_INTERVAL)) {
+            Replica fastest = available.get(0);
+            for (Replica replica : available) {
+                if (replica.latency.get() < fastest.latency.get()) {
+                    fastest = replica;
+                }
+            }
+            return fastest;
+        }
+        return available.get(Math.floorMod(this.next.getAndIncrement(), available.size()));
+    }
+
+    protected RoutingLink.Reader openReader() {
+        Replica replica = this.choose();
+        if (null == replica) {
+            return null;
+        }
+        try {
+            RoutingLink.Reader reader = new RoutingLink.Reader(replica, replica.linker.open());
+            replica.recovered();
+            return reader;
+        } catch (LinkerException ex) {
+            long backoff = replica.failed(System.nanoTime());
+            LOGGER.warn("Can't open replica {}, reading from primary for {} ms", replica.name,
+                    TimeUnit.NANOSECONDS.toMillis(backoff), ex);
+            return null;
+        }
+    }
+
+    @Override
+    public Link open() {
+        if (null == this.primary) {
+            throw new LinkerException("Linker isn't configured");
+        }
+        return new RoutingLink(this.primary.open(), this::openReader, this.stickyWindow);
+    }
+
+    @Override
+    public void close(Link link) {
+        if (!(link instanceof RoutingLink)) {
+            throw new LinkerException("Invalid Link class " + link.getClass().getName());
+        }
+        RoutingLink routingLink = RoutingLink.class.cast(link);
+        RoutingLink.Reader reader = routingLink.getReader();
+        try {
+            if (null != reader) {
+                reader.replica.linker.close(reader.link);
+            }
+        } finally {
+            this.primary.close(routingLink.getPrimary());
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (null != this.primary) {
+            this.primary.shutdown();
+            this.primary = null;
+        }
+        for (Replica replica : this.replicas) {
+            replica.linker.shutdown();
+        }
+        this.replicas = Collections.emptyList();
+    }
+
+    static class Replica {
+
+        final String name;
+        final Linker linker;
+        final AtomicLong latency;
+        final AtomicInteger failures;
+
+        volatile long retryAt;
+
+        Replica(String name, Linker linker) {
+            this.name = name;
+            this.linker = linker;
+            this.latency = new AtomicLong();
+            this.failures = new AtomicInteger();
+            this.retryAt = 0L;
+        }
+
+        boolean available(long now) {
+            return 0 == this.failures.get() || now - this.retryAt >= 0;
+        }
+
+        long failed(long now) {
+            int count = this.failures.incrementAndGet();
+            long backoff = Math.min(MAX_BACKOFF, MIN_BACKOFF << Math.min(count - 1, 6));
+            this.retryAt = now + backoff;
+            return backoff;
+        }
+
+        void recovered() {
+            if (0 != this.failures.get()) {
+                this.failures.set(0);
+                this.latency.set(0L);
+            }
+        }
+
+        void record(long nanos) {
+            long previous = this.latency.get();
+            this.latency.set(0 == previous ? nanos : previous - (previous >> 3) + (nanos >> 3));
+        }
+    }
+}
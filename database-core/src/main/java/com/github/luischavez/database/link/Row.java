@@ -29,7 +29,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -38,22 +38,43 @@ import java.util.Map;
  */
 public class Row {
 
-    private final Map<String, Object> valueMap;
+    private static final Columns NO_COLUMNS = new Columns();
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private Columns columns;
+    private Object[] values;
+
+    public Row(Columns columns, Object[] values) {
+        if (columns.size() != values.length) {
+            throw new IllegalArgumentException("Value count not match column count");
+        }
+        this.columns = columns;
+        this.values = values;
+    }
 
     public Row() {
-        this.valueMap = new HashMap<>();
+        this(Row.NO_COLUMNS, Row.NO_VALUES);
     }
 
     public void fill(Map<String, Object> valueMap) {
-        this.valueMap.putAll(valueMap);
+        for (Map.Entry<String, Object> entry : valueMap.entrySet()) {
+            this.set(entry.getKey(), entry.getValue());
+        }
     }
 
     public void set(String key, Object value) {
-        this.valueMap.put(key, value);
+        int slot = this.columns.slot(key);
+        if (-1 == slot) {
+            slot = this.values.length;
+            this.columns = this.columns.with(key);
+            this.values = Arrays.copyOf(this.values, slot + 1);
+        }
+        this.values[slot] = value;
     }
 
     public Object value(String key) {
-        return this.valueMap.get(key);
+        int slot = this.columns.slot(key);
+        return -1 == slot ? null : this.values[slot];
     }
 
     public <T extends Object> T value(String key, Class<T> type) {
@@ -61,6 +82,24 @@ public class Row {
         return null == value ? null : type.cast(value);
     }
 
+    public boolean isNull(String key) {
+        return null == this.value(key);
+    }
+
+    public long getLong(String key) {
+        Number value = this.value(key, Number.class);
+        return null == value ? 0L : value.longValue();
+    }
+
+    public int getInt(String key) {
+        return (int) this.getLong(key);
+    }
+
+    public double getDouble(String key) {
+        Number value = this.value(key, Number.class);
+        return null == value ? 0D : value.doubleValue();
+    }
+
     public Long number(String key) {
         return this.value(key, Long.class);
     }
@@ -105,10 +144,11 @@ public class Row {
     }
 
     public String[] keys() {
-        return this.valueMap.keySet().toArray(new String[0]);
+        return this.columns.keys();
     }
 
     public void clear() {
-        this.valueMap.clear();
+        this.columns = Row.NO_COLUMNS;
+        this.values = Row.NO_VALUES;
     }
 }
@@ -16,43 +16,292 @@
  */
 package com.github.luischavez.database.link;
 
+import java.math.BigDecimal;
+
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
+ * Column oriented result, every column is stored in its own array and the
+ * column names are shared through a {@link Columns} dictionary.
  *
  * @author Luis Chávez {@literal <https://github.com/luischavez>}
  */
 public class RowList implements Iterable<Row> {
 
-    private final List<Row> rows;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Columns columns;
+    private Column[] data;
+    private int capacity;
+    private int size;
+    private int[] removals;
+    private int removalCount;
+
+    public RowList(Columns columns, StorageType[] types, int capacity) {
+        if (columns.size() != types.length) {
+            throw new IllegalArgumentException("Storage type count not match column count");
+        }
+        this.columns = columns;
+        this.capacity = Math.max(capacity, 1);
+        this.data = new Column[types.length];
+        for (int i = 0; i < types.length; i++) {
+            this.data[i] = this.createColumn(types[i]);
+        }
+        this.size = 0;
+        this.removals = new int[0];
+        this.removalCount = 0;
+    }
+
+    public RowList(Columns columns, int capacity) {
+        this(columns, RowList.objectTypes(columns.size()), capacity);
+    }
+
+    public RowList(Columns columns) {
+        this(columns, DEFAULT_CAPACITY);
+    }
 
     public RowList() {
-        this.rows = new LinkedList<>();
+        this(new Columns());
+    }
+
+    private static StorageType[] objectTypes(int count) {
+        StorageType[] types = new StorageType[count];
+        Arrays.fill(types, StorageType.OBJECT);
+        return types;
+    }
+
+    protected Column createColumn(StorageType type) {
+        switch (type) {
+            case LONG:
+                return new LongColumn(this.capacity);
+            case DOUBLE:
+                return new DoubleColumn(this.capacity);
+            default:
+                return new ObjectColumn(this.capacity);
+        }
+    }
+
+    protected void ensureCapacity(int minCapacity) {
+        if (minCapacity <= this.capacity) {
+            return;
+        }
+        int newCapacity = Math.max(minCapacity, this.capacity + (this.capacity >> 1));
+        for (Column column : this.data) {
+            column.resize(newCapacity);
+        }
+        this.capacity = newCapacity;
+    }
+
+    protected int addColumn(String name) {
+        this.columns = this.columns.with(name);
+        this.data = Arrays.copyOf(this.data, this.data.length + 1);
+        this.data[this.data.length - 1] = new ObjectColumn(this.capacity);
+        return this.data.length - 1;
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    public Columns getColumns() {
+        return this.columns;
+    }
+
+    public int append() {
+        this.ensureCapacity(this.size + 1);
+        return this.size++;
+    }
+
+    public void add(Object[] values) {
+        if (values.length != this.data.length) {
+            throw new IllegalArgumentException("Value count not match column count");
+        }
+        int index = this.append();
+        for (int i = 0; i < values.length; i++) {
+            this.setObject(index, i, values[i]);
+        }
+    }
+
+    public void setObject(int index, int slot, Object value) {
+        if (!this.data[slot].set(index, value)) {
+            ObjectColumn column = new ObjectColumn(this.capacity);
+            for (int i = 0; i < this.size; i++) {
+                column.set(i, this.data[slot].get(i));
+            }
+            column.set(index, value);
+            this.data[slot] = column;
+        }
+    }
+
+    public void setLong(int index, int slot, long value) {
+        Column column = this.data[slot];
+        if (column instanceof LongColumn) {
+            LongColumn.class.cast(column).setLong(index, value);
+        } else {
+            this.setObject(index, slot, value);
+        }
+    }
+
+    public void setDouble(int index, int slot, double value) {
+        Column column = this.data[slot];
+        if (column instanceof DoubleColumn) {
+            DoubleColumn.class.cast(column).setDouble(index, value);
+        } else {
+            this.setObject(index, slot, value);
+        }
+    }
+
+    public void setNull(int index, int slot) {
+        this.data[slot].set(index, null);
+    }
+
+    public Object value(int index, int slot) {
+        this.checkIndex(index);
+        return this.data[slot].get(index);
+    }
+
+    public Object value(int index, String key) {
+        int slot = this.columns.slot(key);
+        return -1 == slot ? null : this.value(index, slot);
+    }
+
+    public long getLong(int index, int slot) {
+        this.checkIndex(index);
+        return this.data[slot].getLong(index);
+    }
+
+    public double getDouble(int index, int slot) {
+        this.checkIndex(index);
+        return this.data[slot].getDouble(index);
+    }
+
+    public boolean isNull(int index, int slot) {
+        this.checkIndex(index);
+        return this.data[slot].isNull(index);
+    }
+
+    protected void set(int index, String key, Object value) {
+        int slot = this.columns.slot(key);
+        if (-1 == slot) {
+            slot = this.addColumn(key);
+        }
+        this.setObject(index, slot, value);
     }
 
     public void attach(Row row) {
-        this.rows.add(row);
+        int index = this.append();
+        for (String key : row.keys()) {
+            this.set(index, key, row.value(key));
+        }
+    }
+
+    protected void copyRow(RowList rows, int index, int[] slots, boolean[] covered) {
+        int target = this.append();
+        for (int slot = 0; slot < this.data.length; slot++) {
+            if (!covered[slot]) {
+                this.setNull(target, slot);
+            }
+        }
+        for (int i = 0; i < slots.length; i++) {
+            Column column = rows.data[i];
+            if (column.isNull(index)) {
+                this.setNull(target, slots[i]);
+            } else if (column instanceof LongColumn) {
+                this.setLong(target, slots[i], column.getLong(index));
+            } else if (column instanceof DoubleColumn) {
+                this.setDouble(target, slots[i], column.getDouble(index));
+            } else {
+                this.setObject(target, slots[i], column.get(index));
+            }
+        }
+    }
+
+    public void addAll(RowList rows) {
+        int[] slots = new int[rows.data.length];
+        boolean[] covered = new boolean[this.data.length + rows.data.length];
+        for (int i = 0; i < slots.length; i++) {
+            String name = rows.columns.name(i);
+            int slot = this.columns.slot(name);
+            slots[i] = -1 == slot ? this.addColumn(name) : slot;
+            covered[slots[i]] = true;
+        }
+        this.ensureCapacity(this.size + rows.size);
+        for (int index = 0; index < rows.size; index++) {
+            this.copyRow(rows, index, slots, covered);
+        }
+    }
+
+    protected StorageType[] storageTypes() {
+        StorageType[] types = new StorageType[this.data.length];
+        for (int i = 0; i < types.length; i++) {
+            if (this.data[i] instanceof LongColumn) {
+                types[i] = StorageType.LONG;
+            } else if (this.data[i] instanceof DoubleColumn) {
+                types[i] = StorageType.DOUBLE;
+            } else {
+                types[i] = StorageType.OBJECT;
+            }
+        }
+        return types;
+    }
+
+    public RowList copy() {
+        RowList rows = new RowList(this.columns, this.storageTypes(), this.size);
+        rows.addAll(this);
+        return rows;
+    }
+
+    public RowList select(int... indexes) {
+        RowList rows = new RowList(this.columns, this.storageTypes(), indexes.length);
+        int[] slots = new int[this.data.length];
+        boolean[] covered = new boolean[this.data.length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = i;
+            covered[i] = true;
+        }
+        for (int index : indexes) {
+            this.checkIndex(index);
+            rows.copyRow(this, index, slots, covered);
+        }
+        return rows;
     }
 
     public void detach(Row row) {
-        if (this.rows.contains(row)) {
-            this.rows.remove(row);
+        if (!(row instanceof ResultRow) || this != ResultRow.class.cast(row).owner()) {
+            throw new IllegalArgumentException("Row doesn't belong to this list");
+        }
+        ResultRow resultRow = ResultRow.class.cast(row);
+        int index = resultRow.index();
+        if (-1 == index) {
+            return;
+        }
+        resultRow.snapshot();
+        for (Column column : this.data) {
+            column.remove(index, this.size);
         }
+        this.size--;
+        if (this.removalCount == this.removals.length) {
+            this.removals = Arrays.copyOf(this.removals, Math.max(4, this.removalCount << 1));
+        }
+        this.removals[this.removalCount++] = index;
+        resultRow.seen = this.removalCount;
     }
 
     public Row getRow(int index) {
-        return this.rows.get(index);
+        this.checkIndex(index);
+        return new ResultRow(index);
     }
 
     public int size() {
-        return this.rows.size();
+        return this.size;
     }
 
     public boolean empty() {
-        return this.rows.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
@@ -60,6 +309,301 @@ public class RowList implements Iterable<Row> {
         return new ResultIterator();
     }
 
+    abstract static class Column {
+
+        abstract void resize(int capacity);
+
+        abstract boolean set(int index, Object value);
+
+        abstract Object get(int index);
+
+        abstract boolean isNull(int index);
+
+        abstract void remove(int index, int size);
+
+        long getLong(int index) {
+            Object value = this.get(index);
+            return null == value ? 0L : Number.class.cast(value).longValue();
+        }
+
+        double getDouble(int index) {
+            Object value = this.get(index);
+            return null == value ? 0D : Number.class.cast(value).doubleValue();
+        }
+    }
+
+    static class ObjectColumn extends Column {
+
+        Object[] values;
+
+        ObjectColumn(int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        boolean set(int index, Object value) {
+            this.values[index] = value;
+            return true;
+        }
+
+        @Override
+        Object get(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        boolean isNull(int index) {
+            return null == this.values[index];
+        }
+
+        @Override
+        void remove(int index, int size) {
+            System.arraycopy(this.values, index + 1, this.values, index, size - index - 1);
+            this.values[size - 1] = null;
+        }
+    }
+
+    abstract static class PrimitiveColumn extends Column {
+
+        boolean[] nulls;
+
+        PrimitiveColumn(int capacity) {
+            this.nulls = new boolean[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            this.nulls = Arrays.copyOf(this.nulls, capacity);
+        }
+
+        @Override
+        boolean isNull(int index) {
+            return this.nulls[index];
+        }
+
+        @Override
+        void remove(int index, int size) {
+            System.arraycopy(this.nulls, index + 1, this.nulls, index, size - index - 1);
+        }
+    }
+
+    static class LongColumn extends PrimitiveColumn {
+
+        long[] values;
+
+        LongColumn(int capacity) {
+            super(capacity);
+            this.values = new long[capacity];
+        }
+
+        void setLong(int index, long value) {
+            this.values[index] = value;
+            this.nulls[index] = false;
+        }
+
+        @Override
+        void resize(int capacity) {
+            super.resize(capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        boolean set(int index, Object value) {
+            if (null == value) {
+                this.values[index] = 0L;
+                this.nulls[index] = true;
+                return true;
+            }
+            if (value instanceof Long) {
+                this.setLong(index, Long.class.cast(value));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        Object get(int index) {
+            return this.nulls[index] ? null : Long.valueOf(this.values[index]);
+        }
+
+        @Override
+        long getLong(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        double getDouble(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        void remove(int index, int size) {
+            super.remove(index, size);
+            System.arraycopy(this.values, index + 1, this.values, index, size - index - 1);
+        }
+    }
+
+    static class DoubleColumn extends PrimitiveColumn {
+
+        double[] values;
+
+        DoubleColumn(int capacity) {
+            super(capacity);
+            this.values = new double[capacity];
+        }
+
+        void setDouble(int index, double value) {
+            this.values[index] = value;
+            this.nulls[index] = false;
+        }
+
+        @Override
+        void resize(int capacity) {
+            super.resize(capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        boolean set(int index, Object value) {
+            if (null == value) {
+                this.values[index] = 0D;
+                this.nulls[index] = true;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        Object get(int index) {
+            return this.nulls[index] ? null : new BigDecimal(this.values[index]);
+        }
+
+        @Override
+        long getLong(int index) {
+            return (long) this.values[index];
+        }
+
+        @Override
+        double getDouble(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        void remove(int index, int size) {
+            super.remove(index, size);
+            System.arraycopy(this.values, index + 1, this.values, index, size - index - 1);
+        }
+    }
+
+    /**
+     * View over a row of the list, views re-index themselves after rows are
+     * detached and keep a copy of their values once their own row is detached.
+     */
+    class ResultRow extends Row {
+
+        int index;
+        int seen;
+        boolean detached;
+
+        ResultRow(int index) {
+            this.index = index;
+            this.seen = RowList.this.removalCount;
+            this.detached = false;
+        }
+
+        RowList owner() {
+            return RowList.this;
+        }
+
+        int index() {
+            while (!this.detached && this.seen < RowList.this.removalCount) {
+                int removed = RowList.this.removals[this.seen++];
+                if (removed == this.index) {
+                    this.detached = true;
+                } else if (removed < this.index) {
+                    this.index--;
+                }
+            }
+            return this.detached ? -1 : this.index;
+        }
+
+        void snapshot() {
+            int current = this.index();
+            for (int slot = 0; slot < RowList.this.data.length; slot++) {
+                super.set(RowList.this.columns.name(slot), RowList.this.data[slot].get(current));
+            }
+            this.detached = true;
+        }
+
+        @Override
+        public void set(String key, Object value) {
+            int current = this.index();
+            if (-1 == current) {
+                super.set(key, value);
+            } else {
+                RowList.this.set(current, key, value);
+            }
+        }
+
+        @Override
+        public Object value(String key) {
+            int current = this.index();
+            return -1 == current ? super.value(key) : RowList.this.value(current, key);
+        }
+
+        @Override
+        public long getLong(String key) {
+            int current = this.index();
+            if (-1 == current) {
+                return super.getLong(key);
+            }
+            int slot = RowList.this.columns.slot(key);
+            return -1 == slot ? 0L : RowList.this.getLong(current, slot);
+        }
+
+        @Override
+        public double getDouble(String key) {
+            int current = this.index();
+            if (-1 == current) {
+                return super.getDouble(key);
+            }
+            int slot = RowList.this.columns.slot(key);
+            return -1 == slot ? 0D : RowList.this.getDouble(current, slot);
+        }
+
+        @Override
+        public boolean isNull(String key) {
+            int current = this.index();
+            if (-1 == current) {
+                return super.isNull(key);
+            }
+            int slot = RowList.this.columns.slot(key);
+            return -1 == slot || RowList.this.isNull(current, slot);
+        }
+
+        @Override
+        public String[] keys() {
+            return -1 == this.index() ? super.keys() : RowList.this.columns.keys();
+        }
+
+        @Override
+        public void clear() {
+            int current = this.index();
+            if (-1 == current) {
+                super.clear();
+                return;
+            }
+            for (int i = 0; i < RowList.this.data.length; i++) {
+                RowList.this.setNull(current, i);
+            }
+        }
+    }
+
     class ResultIterator implements Iterator<Row> {
 
         int currentIndex = 0;
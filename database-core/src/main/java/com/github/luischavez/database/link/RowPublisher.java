@@ -0,0 +1,176 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.link;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the rows of a cursor honoring the subscriber demand, rows are
+ * only pulled from the result when requested.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class RowPublisher implements Publisher<Row> {
+
+    private final Supplier<Cursor> cursors;
+
+    public RowPublisher(Supplier<Cursor> cursors) {
+        this.cursors = cursors;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Row> subscriber) {
+        if (null == subscriber) {
+            throw new NullPointerException("Subscriber can't be null");
+        }
+        Cursor cursor;
+        try {
+            cursor = this.cursors.get();
+        } catch (RuntimeException ex) {
+            subscriber.onSubscribe(new Subscription() {
+
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(ex);
+            return;
+        }
+        subscriber.onSubscribe(new RowSubscription(cursor, subscriber));
+    }
+
+    protected static class RowSubscription implements Subscription {
+
+        private final Cursor cursor;
+        private final Subscriber<? super Row> subscriber;
+        private final AtomicLong demand;
+        private final AtomicInteger work;
+
+        private volatile boolean cancelled;
+        private boolean done;
+        private Throwable error;
+
+        public RowSubscription(Cursor cursor, Subscriber<? super Row> subscriber) {
+            this.cursor = cursor;
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong();
+            this.work = new AtomicInteger();
+            this.cancelled = false;
+            this.done = false;
+            this.error = null;
+        }
+
+        @Override
+        public void request(long n) {
+            if (0 >= n) {
+                this.error = new IllegalArgumentException("Requested " + n + " rows, demand must be positive");
+            } else {
+                long current;
+                long next;
+                do {
+                    current = this.demand.get();
+                    next = current + n;
+                    if (0 > next) {
+                        next = Long.MAX_VALUE;
+                    }
+                } while (!this.demand.compareAndSet(current, next));
+            }
+            this.drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.drain();
+        }
+
+        protected void finish() {
+            this.done = true;
+            this.cursor.close();
+        }
+
+        protected void drain() {
+            if (0 != this.work.getAndIncrement()) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!this.done) {
+                    this.emit();
+                }
+                missed = this.work.addAndGet(-missed);
+            } while (0 != missed);
+        }
+
+        protected void emit() {
+            if (this.cancelled) {
+                this.finish();
+                return;
+            }
+            if (null != this.error) {
+                this.finish();
+                this.subscriber.onError(this.error);
+                return;
+            }
+            long emitted = 0;
+            long requested = this.demand.get();
+            while (emitted != requested) {
+                if (this.cancelled) {
+                    this.finish();
+                    return;
+                }
+                Row row;
+                try {
+                    row = this.cursor.hasNext() ? this.cursor.next() : null;
+                } catch (RuntimeException ex) {
+                    this.finish();
+                    this.subscriber.onError(ex);
+                    return;
+                }
+                if (null == row) {
+                    this.finish();
+                    this.subscriber.onComplete();
+                    return;
+                }
+                this.subscriber.onNext(row);
+                emitted++;
+                if (emitted == requested) {
+                    requested = this.demand.addAndGet(-emitted);
+                    emitted = 0;
+                }
+            }
+            boolean exhausted;
+            try {
+                exhausted = !this.cursor.hasNext();
+            } catch (RuntimeException ex) {
+                this.finish();
+                this.subscriber.onError(ex);
+                return;
+            }
+            if (exhausted) {
+                this.finish();
+                this.subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -1,4 +1,4 @@
-/*
+/* 
  * Copyright (C) 2015 Luis Chávez
  *
  * This program is free software: you can redistribute it and/or modify
@@ -19,27 +19,15 @@ package com.github.luischavez.database.link;
 /**
  *
  * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ * @param <T>
  */
-public class Bundle {
+public interface Subscriber<T> {
 
-    private Object value;
-    private boolean modified;
+    public void onSubscribe(Subscription subscription);
 
-    public Bundle(Object value) {
-        this.value = value;
-        this.modified = false;
-    }
+    public void onNext(T item);
 
-    public Object getValue() {
-        return this.value;
-    }
+    public void onError(Throwable throwable);
 
-    public void setValue(Object value) {
-        this.modified = true;
-        this.value = value;
-    }
-
-    public boolean modified() {
-        return modified;
-    }
+    public void onComplete();
 }
@@ -0,0 +1,50 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query;
+
+import com.github.luischavez.database.grammar.Compiler;
+import com.github.luischavez.database.handler.DefaultHandler;
+import com.github.luischavez.database.link.BulkLoader;
+import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.link.LoadReport;
+
+import java.util.Iterator;
+
+/**
+ * Generic bulk loader, batches a single row INSERT.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class InsertLoader implements BulkLoader {
+
+    private final Compiler compiler;
+
+    public InsertLoader(Compiler compiler) {
+        this.compiler = compiler;
+    }
+
+    @Override
+    public LoadReport load(Link link, String tableName, String[] columns, Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        Object[] parameters = new Object[columns.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = Parameter.positional();
+        }
+        TemplateHandler handler = new TemplateHandler(this.compiler);
+        new Query(handler).insert(tableName, String.join(",", columns), parameters);
+        return handler.template(new DefaultHandler(this.compiler, link)).load(rows, chunkSize, commitSize);
+    }
+}
@@ -0,0 +1,84 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query;
+
+import com.github.luischavez.database.link.RowList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the pages of a query, every page seeks after the last row of the
+ * previous one.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class PageIterator implements Iterator<RowList> {
+
+    private final Query query;
+    private final int pageSize;
+    private final String[] columns;
+
+    private RowList last;
+    private RowList pending;
+    private boolean finished;
+
+    public PageIterator(Query query, int pageSize, String... columns) {
+        this.query = query;
+        this.pageSize = pageSize;
+        this.columns = columns;
+        this.last = null;
+        this.pending = null;
+        this.finished = false;
+    }
+
+    protected RowList fetch() {
+        Query next = this.query.derive(true);
+        if (null != this.last) {
+            next.seekAfter(this.last.getRow(this.last.size() - 1));
+        }
+        return next.limit(this.pageSize).get(this.columns);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (null != this.pending) {
+            return true;
+        }
+        if (this.finished || (null != this.last && this.last.size() < this.pageSize)) {
+            this.finished = true;
+            return false;
+        }
+        RowList page = this.fetch();
+        if (page.empty()) {
+            this.finished = true;
+            return false;
+        }
+        this.pending = page;
+        return true;
+    }
+
+    @Override
+    public RowList next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.last = this.pending;
+        this.pending = null;
+        return this.last;
+    }
+}
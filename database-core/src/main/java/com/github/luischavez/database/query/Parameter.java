@@ -0,0 +1,55 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query;
+
+/**
+ * Placeholder for a value supplied when a prepared template is executed.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Parameter {
+
+    private final String name;
+
+    protected Parameter(String name) {
+        this.name = name;
+    }
+
+    public static Parameter named(String name) {
+        if (null == name || name.isEmpty()) {
+            throw new IllegalArgumentException("Parameter name can't be empty");
+        }
+        return new Parameter(name);
+    }
+
+    public static Parameter positional() {
+        return new Parameter(null);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isNamed() {
+        return null != this.name;
+    }
+
+    @Override
+    public String toString() {
+        return this.isNamed() ? ":" + this.name : "?";
+    }
+}
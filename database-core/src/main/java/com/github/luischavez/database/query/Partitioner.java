@@ -0,0 +1,124 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query;
+
+import com.github.luischavez.database.handler.InvalidSQLException;
+import com.github.luischavez.database.link.RowList;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.sql.Timestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Splits a query into contiguous ranges of a numeric or date column, the
+ * column bounds are discovered before splitting.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Partitioner {
+
+    private final String columnName;
+    private final int partitions;
+
+    public Partitioner(String columnName, int partitions) {
+        if (null == columnName || columnName.isEmpty()) {
+            throw new InvalidSQLException("Partition column is required");
+        }
+        if (1 > partitions) {
+            throw new InvalidSQLException("Partition count must be positive");
+        }
+        this.columnName = columnName;
+        this.partitions = partitions;
+    }
+
+    protected Object bound(Query query, boolean ascendant) {
+        RowList rows = query.derive(false)
+                .where(this.columnName, "IS NOT", null)
+                .order(this.columnName, ascendant)
+                .limit(1)
+                .get(this.columnName);
+        return rows.empty() ? null : rows.value(0, 0);
+    }
+
+    protected long key(Object value) {
+        if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
+            return (long) Math.floor(Number.class.cast(value).doubleValue());
+        }
+        if (value instanceof Number) {
+            return Number.class.cast(value).longValue();
+        }
+        if (value instanceof LocalDate) {
+            return LocalDate.class.cast(value).toEpochDay();
+        }
+        if (value instanceof LocalDateTime) {
+            return LocalDateTime.class.cast(value).toEpochSecond(ZoneOffset.UTC);
+        }
+        if (value instanceof Date) {
+            return Date.class.cast(value).getTime();
+        }
+        throw new InvalidSQLException("Partition column must be numeric or date, found " + value.getClass().getName());
+    }
+
+    protected Object value(long key, Object sample) {
+        if (sample instanceof BigInteger) {
+            return BigInteger.valueOf(key);
+        }
+        if (sample instanceof Number) {
+            return key;
+        }
+        if (sample instanceof LocalDate) {
+            return java.sql.Date.valueOf(LocalDate.ofEpochDay(key));
+        }
+        if (sample instanceof LocalDateTime) {
+            return Timestamp.valueOf(LocalDateTime.ofEpochSecond(key, 0, ZoneOffset.UTC));
+        }
+        return new Timestamp(key);
+    }
+
+    public List<Query> partition(Query query) {
+        Object min = this.bound(query, true);
+        if (null == min || 1 == this.partitions) {
+            return Collections.singletonList(query.derive(true));
+        }
+        Object max = this.bound(query, false);
+        long low = this.key(min);
+        long step = this.key(max) / this.partitions - low / this.partitions + 1;
+        List<Query> queries = new ArrayList<>(this.partitions + 1);
+        for (int i = 0; i < this.partitions; i++) {
+            Query partition = query.derive(true);
+            if (0 < i) {
+                partition.where(this.columnName, ">=", this.value(low + step * i, min));
+            }
+            if (this.partitions - 1 > i) {
+                partition.where(this.columnName, "<", this.value(low + step * (i + 1), min));
+            }
+            queries.add(partition);
+        }
+        queries.add(query.derive(true).where(this.columnName, "IS", null));
+        return queries;
+    }
+}
@@ -19,13 +19,20 @@ package com.github.luischavez.database.query;
 import com.github.luischavez.database.function.Fluentable;
 import com.github.luischavez.database.grammar.Bindings;
 import com.github.luischavez.database.grammar.Compilable;
+import com.github.luischavez.database.grammar.Component;
 import com.github.luischavez.database.grammar.ComponentBag;
 import com.github.luischavez.database.grammar.JoinType;
 import com.github.luischavez.database.grammar.SQLType;
+import com.github.luischavez.database.handler.Dispatcher;
 import com.github.luischavez.database.handler.Handler;
+import com.github.luischavez.database.handler.InvalidSQLException;
 import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.Publisher;
 import com.github.luischavez.database.link.Row;
 import com.github.luischavez.database.link.RowList;
+import com.github.luischavez.database.link.RowPublisher;
+import com.github.luischavez.database.query.component.CacheComponent;
 import com.github.luischavez.database.query.component.ColumnComponent;
 import com.github.luischavez.database.query.component.DistinctComponent;
 import com.github.luischavez.database.query.component.GroupComponent;
@@ -34,9 +41,22 @@ import com.github.luischavez.database.query.component.JoinComponent;
 import com.github.luischavez.database.query.component.LimitComponent;
 import com.github.luischavez.database.query.component.OffsetComponent;
 import com.github.luischavez.database.query.component.OrderComponent;
+import com.github.luischavez.database.query.component.SeekComponent;
 import com.github.luischavez.database.query.component.TableComponent;
 import com.github.luischavez.database.query.component.WhereComponent;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  *
  * @author Luis Chávez {@literal <https://github.com/luischavez>}
@@ -47,14 +67,124 @@ public class Query implements Queryable<Query>, Compilable {
     private final Bindings bindings;
 
     private final Handler handler;
+    private final Dispatcher dispatcher;
 
     private SQLType type;
 
-    public Query(Handler handler) {
+    private String partitionColumn;
+    private int partitions;
+
+    public Query(Handler handler, Dispatcher dispatcher) {
         this.componentBag = new ComponentBag();
         this.bindings = new Bindings();
         this.handler = handler;
+        this.dispatcher = dispatcher;
         this.type = SQLType.NONE;
+        this.partitions = 0;
+    }
+
+    public Query(Handler handler) {
+        this(handler, null);
+    }
+
+    protected <T> CompletableFuture<T> dispatch(Function<Handler, T> task) {
+        if (null == this.dispatcher) {
+            throw new UnsupportedOperationException("Asynchronous execution isn't available for this query");
+        }
+        return this.dispatcher.dispatch(task);
+    }
+
+    protected Query derive(boolean withOrders) {
+        Query query = new Query(this.handler, this.dispatcher);
+        for (Component component : this.componentBag.getAll(Component.class)) {
+            if (withOrders || !(component instanceof OrderComponent)) {
+                query.componentBag.add(component);
+            }
+        }
+        for (String type : new String[]{"wheres", "havings"}) {
+            for (Object value : this.bindings.get(type)) {
+                query.bindings.set(type, value);
+            }
+        }
+        query.type = this.type;
+        return query;
+    }
+
+    protected void checkPartitionable() {
+        List<WhereComponent> whereComponents = this.componentBag.getAll(WhereComponent.class);
+        for (int i = 1; i < whereComponents.size(); i++) {
+            if (!whereComponents.get(i).isAnd()) {
+                throw new InvalidSQLException("Parallel scans don't support OR where clauses");
+            }
+        }
+        if (this.componentBag.contains(LimitComponent.class) || this.componentBag.contains(OffsetComponent.class)) {
+            throw new InvalidSQLException("Parallel scans don't support limit or offset");
+        }
+        if (this.componentBag.contains(OrderComponent.class)) {
+            throw new InvalidSQLException("Parallel scans don't support order, results are merged in range order");
+        }
+        if (this.componentBag.contains(GroupComponent.class) || this.componentBag.contains(HavingComponent.class)
+                || this.componentBag.contains(DistinctComponent.class)) {
+            throw new InvalidSQLException("Parallel scans don't support group, having or distinct");
+        }
+    }
+
+    protected void fetchPartitions(List<Query> queries, Queue<Integer> pending, RowList[] results,
+            AtomicReference<RuntimeException> failure, CountDownLatch done, Handler partitionHandler) {
+        Integer index;
+        while (null != (index = pending.poll())) {
+            try {
+                if (null == failure.get()) {
+                    results[index] = partitionHandler.fetch(queries.get(index));
+                }
+            } catch (RuntimeException ex) {
+                failure.compareAndSet(null, ex);
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    /*
+     * The calling thread drains the partitions too and only waits for the ones
+     * already running, so a scan started from a pooled thread can't starve the pool.
+     */
+    protected RowList fetchPartitions() {
+        this.checkPartitionable();
+        List<Query> queries = new Partitioner(this.partitionColumn, this.partitions).partition(this);
+        Queue<Integer> pending = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < queries.size(); i++) {
+            pending.add(i);
+        }
+        RowList[] results = new RowList[queries.size()];
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(queries.size());
+        for (int i = 1; i < queries.size(); i++) {
+            this.dispatch(asyncHandler -> {
+                this.fetchPartitions(queries, pending, results, failure, done, asyncHandler);
+                return null;
+            });
+        }
+        this.fetchPartitions(queries, pending, results, failure, done, this.handler);
+        boolean interrupted = false;
+        while (0 < done.getCount()) {
+            try {
+                done.await();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (null != failure.get()) {
+            throw failure.get();
+        }
+        RowList merged = results[0];
+        for (int i = 1; i < results.length; i++) {
+            merged.addAll(results[i]);
+        }
+        return merged;
     }
 
     protected void setColumns(String... columns) {
@@ -178,17 +308,35 @@ public class Query implements Queryable<Query>, Compilable {
         return this;
     }
 
+    protected void addWhere(WhereComponent whereComponent) {
+        SeekComponent seekComponent = this.componentBag.getFirst(SeekComponent.class);
+        if (null != seekComponent) {
+            Object[] wheres = this.bindings.get("wheres");
+            this.componentBag.removeAll(SeekComponent.class);
+            this.bindings.remove("wheres");
+            for (int i = 0; i < wheres.length - 1; i++) {
+                this.bindings.set("wheres", wheres[i]);
+            }
+        }
+        this.componentBag.add(whereComponent);
+        if (!whereComponent.isNullCheck()) {
+            this.bindings.set("wheres", whereComponent.getValue());
+        }
+        if (null != seekComponent) {
+            this.componentBag.add(seekComponent);
+            this.bindings.set("wheres", seekComponent.getBindings());
+        }
+    }
+
     @Override
     public Query where(String columnName, String operator, Object value) {
-        this.componentBag.add(new WhereComponent(true, columnName, operator, value));
-        this.bindings.set("wheres", value);
+        this.addWhere(new WhereComponent(true, columnName, operator, value));
         return this;
     }
 
     @Override
     public Query orWhere(String columnName, String operator, Object value) {
-        this.componentBag.add(new WhereComponent(false, columnName, operator, value));
-        this.bindings.set("wheres", value);
+        this.addWhere(new WhereComponent(false, columnName, operator, value));
         return this;
     }
 
@@ -200,15 +348,21 @@ public class Query implements Queryable<Query>, Compilable {
 
     @Override
     public Query having(String columnName, String operator, Object value) {
-        this.componentBag.add(new HavingComponent(true, columnName, operator, value));
-        this.bindings.set("havings", value);
+        HavingComponent havingComponent = new HavingComponent(true, columnName, operator, value);
+        this.componentBag.add(havingComponent);
+        if (!havingComponent.isNullCheck()) {
+            this.bindings.set("havings", value);
+        }
         return this;
     }
 
     @Override
     public Query orHaving(String columnName, String operator, Object value) {
-        this.componentBag.add(new HavingComponent(false, columnName, operator, value));
-        this.bindings.set("havings", value);
+        HavingComponent havingComponent = new HavingComponent(false, columnName, operator, value);
+        this.componentBag.add(havingComponent);
+        if (!havingComponent.isNullCheck()) {
+            this.bindings.set("havings", value);
+        }
         return this;
     }
 
@@ -218,6 +372,18 @@ public class Query implements Queryable<Query>, Compilable {
         return this;
     }
 
+    @Override
+    public Query cache(long ttl) {
+        this.componentBag.removeAll(CacheComponent.class);
+        this.componentBag.add(new CacheComponent(ttl));
+        return this;
+    }
+
+    @Override
+    public Query cache() {
+        return this.cache(0);
+    }
+
     @Override
     public Query limit(int maxResults) {
         this.componentBag.removeAll(LimitComponent.class);
@@ -232,9 +398,66 @@ public class Query implements Queryable<Query>, Compilable {
         return this;
     }
 
+    public Query parallel(String partitionColumn, int partitions) {
+        this.partitionColumn = partitionColumn;
+        this.partitions = partitions;
+        return this;
+    }
+
+    public Query seekAfter(Object... lastValues) {
+        List<OrderComponent> orderComponents = this.componentBag.getAll(OrderComponent.class);
+        if (orderComponents.isEmpty()) {
+            throw new InvalidSQLException("Keyset pagination requires an order");
+        }
+        if (orderComponents.size() != lastValues.length) {
+            throw new InvalidSQLException("Seek value count not match order count");
+        }
+        if (Arrays.asList(lastValues).contains(null)) {
+            throw new InvalidSQLException("Seek values can't be null");
+        }
+        if (this.componentBag.contains(SeekComponent.class)) {
+            throw new InvalidSQLException("Query already has a seek position");
+        }
+        SeekComponent seekComponent = new SeekComponent(orderComponents, lastValues);
+        this.componentBag.add(seekComponent);
+        this.bindings.set("wheres", seekComponent.getBindings());
+        return this;
+    }
+
+    public Query seekAfter(Row lastRow) {
+        List<OrderComponent> orderComponents = this.componentBag.getAll(OrderComponent.class);
+        List<String> keys = Arrays.asList(lastRow.keys());
+        Object[] lastValues = new Object[orderComponents.size()];
+        for (int i = 0; i < lastValues.length; i++) {
+            String columnName = orderComponents.get(i).getColumnName();
+            String key = columnName.substring(columnName.lastIndexOf('.') + 1);
+            if (!keys.contains(key)) {
+                throw new InvalidSQLException("Order column " + columnName + " must be selected");
+            }
+            lastValues[i] = lastRow.value(key);
+        }
+        return this.seekAfter(lastValues);
+    }
+
+    public Iterable<RowList> pages(int pageSize, String... columns) {
+        if (0 >= pageSize) {
+            throw new InvalidSQLException("Page size must be positive");
+        }
+        if (!this.componentBag.contains(OrderComponent.class)) {
+            throw new InvalidSQLException("Keyset pagination requires an order");
+        }
+        if (this.componentBag.contains(SeekComponent.class)) {
+            throw new InvalidSQLException("Query already has a seek position");
+        }
+        return () -> new PageIterator(this, pageSize, columns);
+    }
+
     @Override
     public RowList get(String... columns) {
         this.selectRows(columns);
+        if (1 < this.partitions) {
+            return this.fetchPartitions();
+        }
         return this.handler.fetch(this);
     }
 
@@ -245,6 +468,39 @@ public class Query implements Queryable<Query>, Compilable {
         return rows.empty() ? null : rows.getRow(0);
     }
 
+    @Override
+    public Cursor cursor(int fetchSize, String... columns) {
+        this.selectRows(columns);
+        return this.handler.cursor(this, fetchSize);
+    }
+
+    @Override
+    public Cursor cursor(String... columns) {
+        return this.cursor(0, columns);
+    }
+
+    @Override
+    public Stream<Row> stream(String... columns) {
+        if (1 < this.partitions) {
+            return StreamSupport.stream(this.get(columns).spliterator(), false);
+        }
+        return this.cursor(columns).stream();
+    }
+
+    @Override
+    public Publisher<Row> publish(int fetchSize, String... columns) {
+        this.selectRows(columns);
+        if (null == this.dispatcher) {
+            return new RowPublisher(() -> this.handler.cursor(this, fetchSize));
+        }
+        return new RowPublisher(() -> this.dispatcher.lease(handler -> handler.cursor(this, fetchSize)));
+    }
+
+    @Override
+    public Publisher<Row> publish(String... columns) {
+        return this.publish(0, columns);
+    }
+
     @Override
     public Affecting insert(String tableName, String columns, Object[][] values) {
         this.insertRows(tableName, columns, values);
@@ -256,6 +512,20 @@ public class Query implements Queryable<Query>, Compilable {
         return this.insert(tableName, columns, new Object[][]{values});
     }
 
+    @Override
+    public Affecting[] batchInsert(String tableName, String columns, Object[][] values, int chunkSize) {
+        if (0 == values.length) {
+            return new Affecting[0];
+        }
+        this.insertRows(tableName, columns, new Object[][]{values[0]});
+        return this.handler.batch(this, values, chunkSize);
+    }
+
+    @Override
+    public Affecting[] batchInsert(String tableName, String columns, Object[][] values) {
+        return this.batchInsert(tableName, columns, values, 0);
+    }
+
     @Override
     public Affecting update(String tableName, String columns, Object... values) {
         this.updateRows(tableName, columns, values);
@@ -268,6 +538,44 @@ public class Query implements Queryable<Query>, Compilable {
         return this.handler.affect(this);
     }
 
+    @Override
+    public CompletableFuture<RowList> getAsync(String... columns) {
+        this.selectRows(columns);
+        return this.dispatch(asyncHandler -> asyncHandler.fetch(this));
+    }
+
+    @Override
+    public CompletableFuture<Row> firstAsync(String... columns) {
+        this.limit(1).selectRows(columns);
+        return this.dispatch(asyncHandler -> {
+            RowList rows = asyncHandler.fetch(this);
+            return rows.empty() ? null : rows.getRow(0);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Affecting> insertAsync(String tableName, String columns, Object[][] values) {
+        this.insertRows(tableName, columns, values);
+        return this.dispatch(asyncHandler -> asyncHandler.affect(this));
+    }
+
+    @Override
+    public CompletableFuture<Affecting> insertAsync(String tableName, String columns, Object... values) {
+        return this.insertAsync(tableName, columns, new Object[][]{values});
+    }
+
+    @Override
+    public CompletableFuture<Affecting> updateAsync(String tableName, String columns, Object... values) {
+        this.updateRows(tableName, columns, values);
+        return this.dispatch(asyncHandler -> asyncHandler.affect(this));
+    }
+
+    @Override
+    public CompletableFuture<Affecting> deleteAsync(String tableName) {
+        this.deleteRows(tableName);
+        return this.dispatch(asyncHandler -> asyncHandler.affect(this));
+    }
+
     @Override
     public SQLType type() {
         return this.type;
@@ -22,6 +22,7 @@ import com.github.luischavez.database.grammar.Bindings;
 import com.github.luischavez.database.grammar.CompilerException;
 import com.github.luischavez.database.grammar.ComponentBag;
 import com.github.luischavez.database.grammar.Grammar;
+import com.github.luischavez.database.grammar.Shape;
 import com.github.luischavez.database.query.component.ColumnComponent;
 import com.github.luischavez.database.query.component.DistinctComponent;
 import com.github.luischavez.database.query.component.GroupComponent;
@@ -31,6 +32,7 @@ import com.github.luischavez.database.query.component.JoinComponent;
 import com.github.luischavez.database.query.component.LimitComponent;
 import com.github.luischavez.database.query.component.OffsetComponent;
 import com.github.luischavez.database.query.component.OrderComponent;
+import com.github.luischavez.database.query.component.SeekComponent;
 import com.github.luischavez.database.query.component.TableComponent;
 import com.github.luischavez.database.query.component.WhereComponent;
 
@@ -198,7 +200,12 @@ public class QueryGrammar extends Grammar {
             return "";
         }
         StringBuilder builder = new StringBuilder();
+        SeekComponent seekComponent = null;
         for (WhereComponent whereComponent : whereComponents) {
+            if (whereComponent instanceof SeekComponent) {
+                seekComponent = SeekComponent.class.cast(whereComponent);
+                continue;
+            }
             boolean and = whereComponent.isAnd();
             String columnName = whereComponent.getColumnName();
             String operator = whereComponent.getOperator();
@@ -206,12 +213,38 @@ public class QueryGrammar extends Grammar {
             builder.append(and ? " AND " : " OR ")
                     .append(this.escape(columnName))
                     .append(" ").append(this.getOperatorString(operator))
-                    .append(" ").append(this.getValueString(value));
+                    .append(" ").append(whereComponent.isNullCheck() ? "NULL" : this.getValueString(value));
         }
         String wheres = builder.toString().replaceFirst("AND |OR ", "").trim();
+        if (null != seekComponent) {
+            String seek = this.compileSeek(seekComponent);
+            wheres = wheres.isEmpty() ? seek : "(" + wheres + ") AND " + seek;
+        }
         return "WHERE " + wheres;
     }
 
+    protected String compileSeek(SeekComponent seekComponent) {
+        List<OrderComponent> orderComponents = seekComponent.getOrderComponents();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < orderComponents.size(); i++) {
+            StringBuilder condition = new StringBuilder();
+            for (int j = 0; j < i; j++) {
+                condition.append(this.escape(orderComponents.get(j).getColumnName())).append(" = ? AND ");
+            }
+            OrderComponent orderComponent = orderComponents.get(i);
+            condition.append(this.escape(orderComponent.getColumnName()))
+                    .append(orderComponent.isAscendant() ? " > ?" : " < ?");
+            builder.append(" OR ").append(0 < i ? "(" + condition + ")" : condition);
+        }
+        String seek = builder.toString().replaceFirst(" OR ", "");
+        if (1 == orderComponents.size()) {
+            return seek;
+        }
+        OrderComponent first = orderComponents.get(0);
+        return "(" + this.escape(first.getColumnName()) + (first.isAscendant() ? " >= ?" : " <= ?")
+                + " AND (" + seek + "))";
+    }
+
     protected String compileHavings(List<HavingComponent> havingComponents) {
         if (havingComponents.isEmpty()) {
             return "";
@@ -225,7 +258,7 @@ public class QueryGrammar extends Grammar {
             builder.append(and ? " AND " : " OR ")
                     .append(this.escape(columnName))
                     .append(" ").append(this.getOperatorString(operator))
-                    .append(" ").append(this.getValueString(value));
+                    .append(" ").append(havingComponent.isNullCheck() ? "NULL" : this.getValueString(value));
         }
         String wheres = builder.toString().replaceFirst("AND |OR ", "").trim();
         return "HAVING " + wheres;
@@ -367,6 +400,43 @@ public class QueryGrammar extends Grammar {
         return this.glue(new String[]{"DELETE FROM", table, wheres});
     }
 
+    public String compileTableName(String tableName) {
+        return this.escape(tableName);
+    }
+
+    public String compileColumnNames(String[] columns) {
+        String[] wrapped = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            wrapped[i] = this.wrap(columns[i].trim());
+        }
+        return this.join(wrapped);
+    }
+
+    public String compileExplain(String sql) {
+        return this.glue(new String[]{"EXPLAIN", sql});
+    }
+
+    @Override
+    protected Shape shape(SQLType type, ComponentBag componentBag, Bindings bindings) {
+        Shape shape = super.shape(type, componentBag, bindings);
+        if (SQLType.INSERT == type || SQLType.UPDATE == type) {
+            Object[] objects = bindings.get("values");
+            if (0 == objects.length) {
+                shape.uncacheable();
+                return shape;
+            }
+            int arity = Object[].class.cast(objects[0]).length;
+            for (Object object : objects) {
+                if (arity != Object[].class.cast(object).length) {
+                    shape.uncacheable();
+                    return shape;
+                }
+            }
+            shape.add(objects.length).add(arity);
+        }
+        return shape;
+    }
+
     @Override
     protected String compile(SQLType type, ComponentBag componentBag, Bindings bindings) {
         switch (type) {
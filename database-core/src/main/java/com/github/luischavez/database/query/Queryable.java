@@ -18,10 +18,15 @@ package com.github.luischavez.database.query;
 
 import com.github.luischavez.database.function.Fluentable;
 import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.Publisher;
 import com.github.luischavez.database.link.Row;
 import com.github.luischavez.database.link.RowList;
 import com.github.luischavez.database.query.component.JoinComponent;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 /**
  *
  * @author Luis Chávez {@literal <https://github.com/luischavez>}
@@ -65,6 +70,10 @@ public interface Queryable<Q extends Queryable<Q>> {
 
     public Q order(String columnName, boolean ascendant);
 
+    public Q cache(long ttl);
+
+    public Q cache();
+
     public Q limit(int maxResults);
 
     public Q offset(int firstResultIndex);
@@ -73,11 +82,37 @@ public interface Queryable<Q extends Queryable<Q>> {
 
     public Row first(String... columns);
 
+    public Cursor cursor(int fetchSize, String... columns);
+
+    public Cursor cursor(String... columns);
+
+    public Stream<Row> stream(String... columns);
+
+    public Publisher<Row> publish(int fetchSize, String... columns);
+
+    public Publisher<Row> publish(String... columns);
+
     public Affecting insert(String tableName, String columns, Object[][] values);
 
+    public Affecting[] batchInsert(String tableName, String columns, Object[][] values, int chunkSize);
+
+    public Affecting[] batchInsert(String tableName, String columns, Object[][] values);
+
     public Affecting insert(String tableName, String columns, Object... values);
 
     public Affecting update(String tableName, String columns, Object... values);
 
     public Affecting delete(String tableName);
+
+    public CompletableFuture<RowList> getAsync(String... columns);
+
+    public CompletableFuture<Row> firstAsync(String... columns);
+
+    public CompletableFuture<Affecting> insertAsync(String tableName, String columns, Object[][] values);
+
+    public CompletableFuture<Affecting> insertAsync(String tableName, String columns, Object... values);
+
+    public CompletableFuture<Affecting> updateAsync(String tableName, String columns, Object... values);
+
+    public CompletableFuture<Affecting> deleteAsync(String tableName);
 }
@@ -0,0 +1,258 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query;
+
+import com.github.luischavez.database.grammar.Bindings;
+import com.github.luischavez.database.grammar.SQLType;
+import com.github.luischavez.database.handler.DefaultHandler;
+import com.github.luischavez.database.handler.InvalidSQLException;
+import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.LoadReport;
+import com.github.luischavez.database.link.QueryException;
+import com.github.luischavez.database.link.Row;
+import com.github.luischavez.database.link.RowList;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable compiled statement, executed many times with new parameters.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class Template {
+
+    private final SQLType type;
+    private final String sql;
+    private final Object[][] rows;
+    private final Object[] conditions;
+    private final int positionalCount;
+    private final String tableName;
+    private final DefaultHandler handler;
+    private final Consumer<String> writes;
+
+    private Template(SQLType type, String sql, Object[][] rows, Object[] conditions, int positionalCount,
+            String tableName, DefaultHandler handler, Consumer<String> writes) {
+        this.type = type;
+        this.sql = sql;
+        this.rows = rows;
+        this.conditions = conditions;
+        this.positionalCount = positionalCount;
+        this.tableName = tableName;
+        this.handler = handler;
+        this.writes = writes;
+    }
+
+    protected Template(SQLType type, String sql, Bindings bindings, String tableName) {
+        this.type = type;
+        this.sql = sql;
+        this.tableName = tableName;
+        Object[] values = bindings.get("values");
+        this.rows = new Object[values.length][];
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            this.rows[i] = Object[].class.cast(values[i]);
+            count += this.countPositionals(this.rows[i]);
+        }
+        this.conditions = bindings.getArray(new String[]{"wheres", "havings"});
+        this.positionalCount = count + this.countPositionals(this.conditions);
+        this.handler = null;
+        this.writes = null;
+    }
+
+    protected Template attach(DefaultHandler handler, Consumer<String> writes) {
+        return new Template(this.type, this.sql, this.rows, this.conditions, this.positionalCount,
+                this.tableName, handler, writes);
+    }
+
+    protected Template attach(DefaultHandler handler) {
+        return this.attach(handler, null);
+    }
+
+    protected void written() {
+        if (null != this.writes && null != this.tableName) {
+            this.writes.accept(this.tableName);
+        }
+    }
+
+    private int countPositionals(Object[] objects) {
+        int count = 0;
+        for (Object object : objects) {
+            if (object instanceof Parameter && !Parameter.class.cast(object).isNamed()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public SQLType type() {
+        return this.type;
+    }
+
+    public String getSql() {
+        return this.sql;
+    }
+
+    protected DefaultHandler handler() {
+        if (null == this.handler) {
+            throw new QueryException("Template isn't attached to a database");
+        }
+        return this.handler;
+    }
+
+    private Object[] resolve(Object[] objects, Object[] positional, int[] position, Map<String, ?> named) {
+        Object[] resolved = new Object[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            Object object = objects[i];
+            if (object instanceof Parameter) {
+                Parameter parameter = Parameter.class.cast(object);
+                if (parameter.isNamed()) {
+                    if (!named.containsKey(parameter.getName())) {
+                        throw new QueryException("Missing parameter " + parameter);
+                    }
+                    object = named.get(parameter.getName());
+                } else {
+                    object = positional[position[0]++];
+                }
+            }
+            resolved[i] = object;
+        }
+        return resolved;
+    }
+
+    private void checkPositionals(Object[] positional) {
+        if (this.positionalCount != positional.length) {
+            throw new QueryException("Expected " + this.positionalCount
+                    + " positional parameters but " + positional.length + " given");
+        }
+    }
+
+    protected Bindings bind(Object[] positional, Map<String, ?> named) {
+        this.checkPositionals(positional);
+        int[] position = new int[]{0};
+        Bindings bindings = new Bindings();
+        for (Object[] row : this.rows) {
+            bindings.set("values", this.resolve(row, positional, position, named));
+        }
+        if (0 < this.conditions.length) {
+            bindings.set("wheres", this.resolve(this.conditions, positional, position, named));
+        }
+        return bindings;
+    }
+
+    protected RowList fetch(Bindings bindings) {
+        if (!SQLType.SELECT.equals(this.type)) {
+            throw new InvalidSQLException("Only SELECT statements can fetch results");
+        }
+        return this.handler().fetch(this.sql, bindings, 0L);
+    }
+
+    protected Cursor cursor(Bindings bindings) {
+        if (!SQLType.SELECT.equals(this.type)) {
+            throw new InvalidSQLException("Only SELECT statements can fetch results");
+        }
+        return this.handler().cursor(this.sql, bindings, 0, 0L);
+    }
+
+    protected Affecting affect(Bindings bindings) {
+        try {
+            return this.handler().affect(this.type, this.sql, bindings, 0L);
+        } finally {
+            this.written();
+        }
+    }
+
+    public RowList get(Object... parameters) {
+        return this.fetch(this.bind(parameters, Collections.emptyMap()));
+    }
+
+    public RowList get(Map<String, ?> parameters, Object... positional) {
+        return this.fetch(this.bind(positional, parameters));
+    }
+
+    public Row first(Object... parameters) {
+        RowList rows = this.get(parameters);
+        return rows.empty() ? null : rows.getRow(0);
+    }
+
+    public Row first(Map<String, ?> parameters, Object... positional) {
+        RowList rows = this.get(parameters, positional);
+        return rows.empty() ? null : rows.getRow(0);
+    }
+
+    public Cursor cursor(Object... parameters) {
+        return this.cursor(this.bind(parameters, Collections.emptyMap()));
+    }
+
+    public Cursor cursor(Map<String, ?> parameters, Object... positional) {
+        return this.cursor(this.bind(positional, parameters));
+    }
+
+    public Affecting affect(Object... parameters) {
+        return this.affect(this.bind(parameters, Collections.emptyMap()));
+    }
+
+    public Affecting affect(Map<String, ?> parameters, Object... positional) {
+        return this.affect(this.bind(positional, parameters));
+    }
+
+    public Affecting[] batch(Object[][] parameters, int chunkSize) {
+        if (SQLType.SELECT.equals(this.type)) {
+            throw new InvalidSQLException("Only DML statements can be batched");
+        }
+        if (1 < this.rows.length) {
+            throw new InvalidSQLException("Only single row templates can be batched");
+        }
+        Map<String, ?> named = Collections.emptyMap();
+        Object[][] values = 0 < this.rows.length ? new Object[parameters.length][] : null;
+        Object[][] conditions = 0 < this.conditions.length ? new Object[parameters.length][] : null;
+        for (int i = 0; i < parameters.length; i++) {
+            this.checkPositionals(parameters[i]);
+            int[] position = new int[]{0};
+            if (null != values) {
+                values[i] = this.resolve(this.rows[0], parameters[i], position, named);
+            }
+            if (null != conditions) {
+                conditions[i] = this.resolve(this.conditions, parameters[i], position, named);
+            }
+        }
+        try {
+            return this.handler().batch(this.type, this.sql, values, conditions, chunkSize, 0L);
+        } finally {
+            this.written();
+        }
+    }
+
+    public Affecting[] batch(Object[][] parameters) {
+        return this.batch(parameters, 0);
+    }
+
+    public LoadReport load(Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        if (!SQLType.INSERT.equals(this.type) || 1 != this.rows.length
+                || this.positionalCount != this.rows[0].length) {
+            throw new InvalidSQLException("Only single row INSERT templates with positional parameters can be loaded");
+        }
+        try {
+            return this.handler().load(this.sql, rows, chunkSize, commitSize);
+        } finally {
+            this.written();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query;
+
+import com.github.luischavez.database.grammar.Bindings;
+import com.github.luischavez.database.grammar.Compilable;
+import com.github.luischavez.database.grammar.Compiler;
+import com.github.luischavez.database.handler.DefaultHandler;
+import com.github.luischavez.database.handler.Handler;
+import com.github.luischavez.database.handler.InvalidSQLException;
+import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.Row;
+import com.github.luischavez.database.link.RowList;
+import com.github.luischavez.database.query.component.TableComponent;
+
+import java.util.function.Consumer;
+
+/**
+ * Compiles the statement built by a query instead of executing it.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class TemplateHandler implements Handler {
+
+    private final Compiler compiler;
+
+    private Template template;
+
+    public TemplateHandler(Compiler compiler) {
+        this.compiler = compiler;
+        this.template = null;
+    }
+
+    protected void capture(Compilable compilable) {
+        if (null != this.template) {
+            throw new InvalidSQLException("Only one statement can be prepared per template");
+        }
+        String sql = this.compiler.compile(compilable);
+        TableComponent tableComponent = compilable.components().getFirst(TableComponent.class);
+        String tableName = null == tableComponent ? null : tableComponent.getTableName();
+        this.template = new Template(compilable.type(), sql, compilable.bindings(), tableName);
+    }
+
+    public Template template(DefaultHandler handler, Consumer<String> writes) {
+        if (null == this.template) {
+            throw new InvalidSQLException("Nothing to prepare, finish the query with get, first, insert, update or delete");
+        }
+        return this.template.attach(handler, writes);
+    }
+
+    public Template template(DefaultHandler handler) {
+        return this.template(handler, null);
+    }
+
+    @Override
+    public RowList fetch(Compilable compilable) {
+        this.capture(compilable);
+        return new RowList();
+    }
+
+    @Override
+    public Cursor cursor(Compilable compilable, int fetchSize) {
+        this.capture(compilable);
+        return new Cursor() {
+
+            @Override
+            protected Row fetch() {
+                return null;
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+
+    @Override
+    public Affecting affect(Compilable compilable) {
+        this.capture(compilable);
+        return new Affecting(0, new Object[0]);
+    }
+
+    @Override
+    public Affecting[] batch(Compilable compilable, Object[][] values, int chunkSize) {
+        this.capture(compilable);
+        return new Affecting[0];
+    }
+
+    @Override
+    public void execute(Compilable compilable) {
+        throw new InvalidSQLException("Only DML statements can be prepared");
+    }
+}
@@ -0,0 +1,41 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query.component;
+
+import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
+
+/**
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class CacheComponent implements Component {
+
+    private final long ttl;
+
+    public CacheComponent(long ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getTtl() {
+        return this.ttl;
+    }
+
+    @Override
+    public void shape(Shape shape) {
+    }
+}
@@ -17,6 +17,7 @@
 package com.github.luischavez.database.query.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -24,4 +25,7 @@ import com.github.luischavez.database.grammar.Component;
  */
 public class DistinctComponent implements Component {
 
+    @Override
+    public void shape(Shape shape) {
+    }
 }
@@ -17,6 +17,7 @@
 package com.github.luischavez.database.query.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -33,4 +34,9 @@ public class GroupComponent implements Component {
     public String getColumnName() {
         return this.columnName;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.columnName);
+    }
 }
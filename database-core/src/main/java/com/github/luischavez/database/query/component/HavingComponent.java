@@ -17,6 +17,7 @@
 package com.github.luischavez.database.query.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -51,4 +52,17 @@ public class HavingComponent implements Component {
     public Object getValue() {
         return this.value;
     }
+
+    public boolean isNullCheck() {
+        if (null != this.value || null == this.operator) {
+            return false;
+        }
+        String trimmed = this.operator.trim();
+        return "IS".equalsIgnoreCase(trimmed) || "IS NOT".equalsIgnoreCase(trimmed);
+    }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.and).add(this.columnName).add(this.operator).arity(this.value).add(this.isNullCheck());
+    }
 }
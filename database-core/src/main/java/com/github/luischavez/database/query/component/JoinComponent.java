@@ -18,6 +18,7 @@ package com.github.luischavez.database.query.component;
 
 import com.github.luischavez.database.grammar.JoinType;
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -59,4 +60,15 @@ public class JoinComponent implements Component {
         this.clauses.add(new JoinClause(false, firstColumn, operator, secondColumn));
         return this;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.type).add(this.tableName).add(this.clauses.size());
+        for (JoinClause clause : this.clauses) {
+            shape.add(clause.isAnd())
+                    .add(clause.getFirstColumn())
+                    .add(clause.getOperator())
+                    .add(clause.getSecondColumn());
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package com.github.luischavez.database.query.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -33,4 +34,9 @@ public class LimitComponent implements Component {
     public int getMaxResults() {
         return this.maxResults;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.maxResults);
+    }
 }
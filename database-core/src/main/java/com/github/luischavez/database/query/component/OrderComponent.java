@@ -17,6 +17,7 @@
 package com.github.luischavez.database.query.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -39,4 +40,9 @@ public class OrderComponent implements Component {
     public boolean isAscendant() {
         return this.ascendant;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.columnName).add(this.ascendant);
+    }
 }
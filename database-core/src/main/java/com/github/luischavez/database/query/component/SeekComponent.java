@@ -0,0 +1,75 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.query.component;
+
+import com.github.luischavez.database.grammar.Shape;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset predicate that selects the rows placed after the given values in the
+ * query order.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class SeekComponent extends WhereComponent {
+
+    private final List<OrderComponent> orderComponents;
+    private final Object[] values;
+
+    public SeekComponent(List<OrderComponent> orderComponents, Object[] values) {
+        super(true, null, null, values);
+        this.orderComponents = Collections.unmodifiableList(new ArrayList<>(orderComponents));
+        this.values = values;
+    }
+
+    public List<OrderComponent> getOrderComponents() {
+        return this.orderComponents;
+    }
+
+    public Object[] getValues() {
+        return this.values;
+    }
+
+    public Object[] getBindings() {
+        List<Object> bindings = new ArrayList<>();
+        if (1 < this.values.length) {
+            bindings.add(this.values[0]);
+        }
+        for (int i = 0; i < this.values.length; i++) {
+            for (int j = 0; j <= i; j++) {
+                bindings.add(this.values[j]);
+            }
+        }
+        return bindings.toArray();
+    }
+
+    @Override
+    public boolean isNullCheck() {
+        return false;
+    }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.orderComponents.size());
+        for (OrderComponent orderComponent : this.orderComponents) {
+            orderComponent.shape(shape);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.github.luischavez.database.schema.component;
 
 import com.github.luischavez.database.grammar.ColumnType;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -91,4 +92,14 @@ public class ColumnDefinition {
     public void setDefaultValue(Object defaultValue) {
         this.defaultValue = defaultValue;
     }
+
+    public void shape(Shape shape) {
+        shape.add(this.columnType)
+                .add(this.nullable)
+                .add(this.unsigned)
+                .add(this.incremented)
+                .add(this.length)
+                .add(this.zeros)
+                .add(this.defaultValue);
+    }
 }
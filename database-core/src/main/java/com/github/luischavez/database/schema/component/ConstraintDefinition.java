@@ -17,6 +17,7 @@
 package com.github.luischavez.database.schema.component;
 
 import com.github.luischavez.database.grammar.ConstraintType;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -46,4 +47,8 @@ public class ConstraintDefinition {
     public void setConstraintName(String constraintName) {
         this.constraintName = constraintName;
     }
+
+    public void shape(Shape shape) {
+        shape.add(this.constraintType).add(this.constraintName);
+    }
 }
@@ -17,6 +17,7 @@
 package com.github.luischavez.database.schema.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -49,4 +50,10 @@ public class CreateColumnComponent implements Component {
     public void setAlter(boolean alter) {
         this.alter = alter;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.columnName).add(this.alter);
+        this.definition.shape(shape);
+    }
 }
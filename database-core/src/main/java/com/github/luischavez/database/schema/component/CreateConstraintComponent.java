@@ -17,6 +17,7 @@
 package com.github.luischavez.database.schema.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -39,4 +40,10 @@ public class CreateConstraintComponent implements Component {
     public ConstraintDefinition getDefinition() {
         return this.definition;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.columnName);
+        this.definition.shape(shape);
+    }
 }
@@ -17,6 +17,7 @@
 package com.github.luischavez.database.schema.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -33,4 +34,9 @@ public class DropConstraintComponent implements Component {
     public ConstraintDefinition getDefinition() {
         return this.definition;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        this.definition.shape(shape);
+    }
 }
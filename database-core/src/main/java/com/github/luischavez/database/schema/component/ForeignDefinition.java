@@ -17,6 +17,7 @@
 package com.github.luischavez.database.schema.component;
 
 import com.github.luischavez.database.grammar.ConstraintType;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -52,4 +53,13 @@ public class ForeignDefinition extends ConstraintDefinition {
     public String getOnUpdate() {
         return this.onUpdate;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        super.shape(shape);
+        shape.add(this.relatedColumnName)
+                .add(this.relatedTableName)
+                .add(this.onDelete)
+                .add(this.onUpdate);
+    }
 }
@@ -17,6 +17,7 @@
 package com.github.luischavez.database.schema.component;
 
 import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.Shape;
 
 /**
  *
@@ -33,4 +34,9 @@ public class SchemaTableComponent implements Component {
     public String getTableName() {
         return this.tableName;
     }
+
+    @Override
+    public void shape(Shape shape) {
+        shape.add(this.tableName);
+    }
 }
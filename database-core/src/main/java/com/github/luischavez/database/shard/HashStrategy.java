@@ -0,0 +1,48 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.shard;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Spreads keys by hash, integral numbers hash the same regardless of their
+ * boxed type.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class HashStrategy implements ShardStrategy {
+
+    protected int hash(Object key) {
+        if (key instanceof Byte || key instanceof Short || key instanceof Integer || key instanceof Long
+                || key instanceof BigInteger) {
+            return Long.hashCode(Number.class.cast(key).longValue());
+        }
+        if (key instanceof BigDecimal) {
+            return BigDecimal.class.cast(key).stripTrailingZeros().hashCode();
+        }
+        return key.hashCode();
+    }
+
+    @Override
+    public int shard(Object key, int shards) {
+        if (null == key) {
+            throw new ShardException("Shard key can't be null");
+        }
+        return Math.floorMod(this.hash(key), shards);
+    }
+}
@@ -0,0 +1,54 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.shard;
+
+/**
+ * Assigns numeric keys by upper bound, a key lower than the first bound goes
+ * to the first shard and keys above the last bound go to the last shard.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class RangeStrategy implements ShardStrategy {
+
+    private final long[] bounds;
+
+    public RangeStrategy(long... bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i - 1] >= bounds[i]) {
+                throw new ShardException("Shard ranges must be ascending");
+            }
+        }
+        this.bounds = bounds.clone();
+    }
+
+    @Override
+    public int shard(Object key, int shards) {
+        if (!(key instanceof Number)) {
+            throw new ShardException("Range sharding requires a numeric key, found " + key);
+        }
+        if (this.bounds.length != shards - 1) {
+            throw new ShardException("Range sharding requires " + (shards - 1) + " bounds for " + shards + " shards");
+        }
+        long value = Number.class.cast(key).longValue();
+        for (int i = 0; i < this.bounds.length; i++) {
+            if (value < this.bounds[i]) {
+                return i;
+            }
+        }
+        return this.bounds.length;
+    }
+}
@@ -0,0 +1,487 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.shard;
+
+import com.github.luischavez.database.grammar.Bindings;
+import com.github.luischavez.database.grammar.Compilable;
+import com.github.luischavez.database.grammar.Component;
+import com.github.luischavez.database.grammar.ComponentBag;
+import com.github.luischavez.database.grammar.SQLType;
+import com.github.luischavez.database.handler.Handler;
+import com.github.luischavez.database.handler.InvalidSQLException;
+import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Columns;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.Row;
+import com.github.luischavez.database.link.RowList;
+import com.github.luischavez.database.query.component.ColumnComponent;
+import com.github.luischavez.database.query.component.DistinctComponent;
+import com.github.luischavez.database.query.component.GroupComponent;
+import com.github.luischavez.database.query.component.HavingComponent;
+import com.github.luischavez.database.query.component.LimitComponent;
+import com.github.luischavez.database.query.component.OffsetComponent;
+import com.github.luischavez.database.query.component.OrderComponent;
+import com.github.luischavez.database.query.component.SeekComponent;
+import com.github.luischavez.database.query.component.WhereComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Routes every statement to the shard owning its shard key, statements
+ * without key run on every shard and their results are merged.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class ShardingHandler implements Handler {
+
+    private final List<Handler> handlers;
+    private final String shardKey;
+    private final ShardStrategy strategy;
+
+    public ShardingHandler(List<Handler> handlers, String shardKey, ShardStrategy strategy) {
+        this.handlers = handlers;
+        this.shardKey = shardKey;
+        this.strategy = strategy;
+    }
+
+    protected boolean isShardKey(String columnName) {
+        if (null == columnName) {
+            return false;
+        }
+        String name = columnName.trim();
+        return name.equalsIgnoreCase(this.shardKey) || name.toLowerCase().endsWith("." + this.shardKey.toLowerCase());
+    }
+
+    protected int shard(Object key) {
+        return this.strategy.shard(key, this.handlers.size());
+    }
+
+    protected Set<Integer> all() {
+        Set<Integer> targets = new TreeSet<>();
+        for (int i = 0; i < this.handlers.size(); i++) {
+            targets.add(i);
+        }
+        return targets;
+    }
+
+    protected Set<Integer> targets(Compilable compilable) {
+        List<WhereComponent> whereComponents = compilable.components().getAll(WhereComponent.class);
+        for (int i = 1; i < whereComponents.size(); i++) {
+            if (!whereComponents.get(i).isAnd()) {
+                return this.all();
+            }
+        }
+        for (WhereComponent whereComponent : whereComponents) {
+            if (whereComponent instanceof SeekComponent || !this.isShardKey(whereComponent.getColumnName())) {
+                continue;
+            }
+            if ("=".equals(whereComponent.getOperator().trim())) {
+                Set<Integer> targets = new TreeSet<>();
+                targets.add(this.shard(whereComponent.getValue()));
+                return targets;
+            }
+        }
+        return this.all();
+    }
+
+    protected List<String> columns(Compilable compilable) {
+        List<String> columns = new ArrayList<>();
+        for (ColumnComponent columnComponent : compilable.components().getAll(ColumnComponent.class)) {
+            for (String column : columnComponent.getColumnName().split(",")) {
+                columns.add(column.trim());
+            }
+        }
+        return columns;
+    }
+
+    protected int keyIndex(Compilable compilable) {
+        List<String> columns = this.columns(compilable);
+        for (int i = 0; i < columns.size(); i++) {
+            if (this.isShardKey(columns.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected Map<Integer, List<Object[]>> split(Compilable compilable, Object[] rows) {
+        int keyIndex = this.keyIndex(compilable);
+        if (-1 == keyIndex) {
+            throw new ShardException("Inserted columns must include the shard key " + this.shardKey);
+        }
+        Map<Integer, List<Object[]>> groups = new LinkedHashMap<>();
+        for (Object row : rows) {
+            Object[] values = Object[].class.cast(row);
+            groups.computeIfAbsent(this.shard(values[keyIndex]), shard -> new ArrayList<>()).add(values);
+        }
+        return groups;
+    }
+
+    protected Compilable scatter(Compilable compilable) {
+        ComponentBag components = compilable.components();
+        if (components.contains(GroupComponent.class) || components.contains(HavingComponent.class)
+                || components.contains(DistinctComponent.class)) {
+            throw new ShardException("Group, having and distinct queries must filter by the shard key " + this.shardKey);
+        }
+        LimitComponent limitComponent = components.getFirst(LimitComponent.class);
+        if (null == limitComponent) {
+            return compilable;
+        }
+        OffsetComponent offsetComponent = components.getFirst(OffsetComponent.class);
+        int offset = null == offsetComponent ? 0 : offsetComponent.getFirstResultIndex();
+        ComponentBag shardComponents = new ComponentBag();
+        for (Component component : components.getAll(Component.class)) {
+            if (!(component instanceof LimitComponent) && !(component instanceof OffsetComponent)) {
+                shardComponents.add(component);
+            }
+        }
+        shardComponents.add(new LimitComponent(limitComponent.getMaxResults() + offset));
+        return new ShardCompilable(compilable.type(), shardComponents, compilable.bindings());
+    }
+
+    protected int orderSlot(RowList rows, String columnName) {
+        String key = columnName.substring(columnName.lastIndexOf('.') + 1).trim();
+        Columns columns = rows.getColumns();
+        int slot = columns.slot(key);
+        for (int i = 0; -1 == slot && i < columns.size(); i++) {
+            if (columns.name(i).equalsIgnoreCase(key)) {
+                slot = i;
+            }
+        }
+        if (-1 == slot) {
+            throw new ShardException("Order column " + columnName + " must be selected to merge shard results");
+        }
+        return slot;
+    }
+
+    protected String orderKey(Row row, String columnName) {
+        String key = columnName.substring(columnName.lastIndexOf('.') + 1).trim();
+        String[] keys = row.keys();
+        if (Arrays.asList(keys).contains(key)) {
+            return key;
+        }
+        for (String name : keys) {
+            if (name.equalsIgnoreCase(key)) {
+                return name;
+            }
+        }
+        throw new ShardException("Order column " + columnName + " must be selected to merge shard results");
+    }
+
+    protected int compare(Object a, Object b) {
+        if (null == a || null == b) {
+            return null == a ? (null == b ? 0 : -1) : 1;
+        }
+        @SuppressWarnings("unchecked")
+        Comparable<Object> comparable = Comparable.class.cast(a);
+        return comparable.compareTo(b);
+    }
+
+    protected Comparator<Integer> comparator(RowList rows, List<OrderComponent> orderComponents) {
+        Comparator<Integer> comparator = (first, second) -> 0;
+        for (OrderComponent orderComponent : orderComponents) {
+            int slot = this.orderSlot(rows, orderComponent.getColumnName());
+            Comparator<Integer> byColumn = (first, second) -> this.compare(rows.value(first, slot), rows.value(second, slot));
+            comparator = comparator.thenComparing(orderComponent.isAscendant() ? byColumn : byColumn.reversed());
+        }
+        return comparator;
+    }
+
+    protected Comparator<Row> comparator(Row row, List<OrderComponent> orderComponents) {
+        Comparator<Row> comparator = (first, second) -> 0;
+        for (OrderComponent orderComponent : orderComponents) {
+            String key = this.orderKey(row, orderComponent.getColumnName());
+            Comparator<Row> byColumn = (first, second) -> this.compare(first.value(key), second.value(key));
+            comparator = comparator.thenComparing(orderComponent.isAscendant() ? byColumn : byColumn.reversed());
+        }
+        return comparator;
+    }
+
+    protected RowList gather(Compilable compilable, Set<Integer> targets) {
+        Compilable shardCompilable = this.scatter(compilable);
+        RowList merged = null;
+        for (int target : targets) {
+            RowList rows = this.handlers.get(target).fetch(shardCompilable);
+            if (null == merged) {
+                merged = rows;
+            } else {
+                merged.addAll(rows);
+            }
+        }
+        ComponentBag components = compilable.components();
+        List<OrderComponent> orderComponents = components.getAll(OrderComponent.class);
+        LimitComponent limitComponent = components.getFirst(LimitComponent.class);
+        if (orderComponents.isEmpty() && null == limitComponent) {
+            return merged;
+        }
+        Integer[] indexes = new Integer[merged.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        if (!orderComponents.isEmpty() && !merged.empty()) {
+            Arrays.sort(indexes, this.comparator(merged, orderComponents));
+        }
+        int from = 0;
+        int to = indexes.length;
+        if (null != limitComponent) {
+            OffsetComponent offsetComponent = components.getFirst(OffsetComponent.class);
+            from = Math.min(null == offsetComponent ? 0 : offsetComponent.getFirstResultIndex(), to);
+            to = Math.min(from + limitComponent.getMaxResults(), to);
+        }
+        int[] selected = new int[to - from];
+        for (int i = from; i < to; i++) {
+            selected[i - from] = indexes[i];
+        }
+        return merged.select(selected);
+    }
+
+    @Override
+    public RowList fetch(Compilable compilable) {
+        Set<Integer> targets = this.targets(compilable);
+        if (1 == targets.size()) {
+            return this.handlers.get(targets.iterator().next()).fetch(compilable);
+        }
+        return this.gather(compilable, targets);
+    }
+
+    @Override
+    public Cursor cursor(Compilable compilable, int fetchSize) {
+        Set<Integer> targets = this.targets(compilable);
+        if (1 == targets.size()) {
+            return this.handlers.get(targets.iterator().next()).cursor(compilable, fetchSize);
+        }
+        ComponentBag components = compilable.components();
+        Compilable shardCompilable = this.scatter(compilable);
+        if (components.contains(OrderComponent.class) || components.contains(LimitComponent.class)) {
+            List<OrderComponent> orderComponents = components.getAll(OrderComponent.class);
+            LimitComponent limitComponent = components.getFirst(LimitComponent.class);
+            OffsetComponent offsetComponent = components.getFirst(OffsetComponent.class);
+            long offset = null == limitComponent || null == offsetComponent ? 0 : offsetComponent.getFirstResultIndex();
+            long limit = null == limitComponent ? Long.MAX_VALUE : limitComponent.getMaxResults();
+            List<Cursor> cursors = new ArrayList<>();
+            try {
+                for (int target : targets) {
+                    cursors.add(this.handlers.get(target).cursor(shardCompilable, fetchSize));
+                }
+            } catch (RuntimeException ex) {
+                cursors.forEach(Cursor::close);
+                throw ex;
+            }
+            return new MergeCursor(cursors, row -> this.comparator(row, orderComponents), offset, limit);
+        }
+        List<Supplier<Iterator<Row>>> sources = new ArrayList<>();
+        for (int target : targets) {
+            Handler handler = this.handlers.get(target);
+            sources.add(() -> handler.cursor(shardCompilable, fetchSize));
+        }
+        return new ShardCursor(sources);
+    }
+
+    @Override
+    public Affecting affect(Compilable compilable) {
+        SQLType type = compilable.type();
+        if (SQLType.INSERT.equals(type)) {
+            Map<Integer, List<Object[]>> groups = this.split(compilable, compilable.bindings().get("values"));
+            List<Affecting> affectings = new ArrayList<>();
+            for (Map.Entry<Integer, List<Object[]>> group : groups.entrySet()) {
+                Bindings bindings = new Bindings();
+                for (Object[] row : group.getValue()) {
+                    bindings.set("values", row);
+                }
+                Compilable shardCompilable = new ShardCompilable(type, compilable.components(), bindings);
+                affectings.add(this.handlers.get(group.getKey()).affect(shardCompilable));
+            }
+            return this.merge(affectings.toArray(new Affecting[0]));
+        }
+        if (SQLType.UPDATE.equals(type) && -1 != this.keyIndex(compilable)) {
+            throw new ShardException("Shard key " + this.shardKey + " can't be updated");
+        }
+        List<Affecting> affectings = new ArrayList<>();
+        for (int target : this.targets(compilable)) {
+            affectings.add(this.handlers.get(target).affect(compilable));
+        }
+        return this.merge(affectings.toArray(new Affecting[0]));
+    }
+
+    protected Affecting merge(Affecting[] affectings) {
+        int count = 0;
+        List<Object> keys = new ArrayList<>();
+        for (Affecting affecting : affectings) {
+            count += affecting.count();
+            keys.addAll(Arrays.asList(affecting.getGeneratedKeys()));
+        }
+        return new Affecting(count, keys.toArray());
+    }
+
+    @Override
+    public Affecting[] batch(Compilable compilable, Object[][] values, int chunkSize) {
+        if (!SQLType.INSERT.equals(compilable.type())) {
+            throw new InvalidSQLException("Only INSERT statements can be batched from a query");
+        }
+        List<Affecting> affectings = new ArrayList<>();
+        for (Map.Entry<Integer, List<Object[]>> group : this.split(compilable, values).entrySet()) {
+            Object[][] rows = group.getValue().toArray(new Object[0][]);
+            affectings.addAll(Arrays.asList(this.handlers.get(group.getKey()).batch(compilable, rows, chunkSize)));
+        }
+        return affectings.toArray(new Affecting[0]);
+    }
+
+    @Override
+    public void execute(Compilable compilable) {
+        for (Handler handler : this.handlers) {
+            handler.execute(compilable);
+        }
+    }
+
+    static class ShardCompilable implements Compilable {
+
+        private final SQLType type;
+        private final ComponentBag components;
+        private final Bindings bindings;
+
+        ShardCompilable(SQLType type, ComponentBag components, Bindings bindings) {
+            this.type = type;
+            this.components = components;
+            this.bindings = bindings;
+        }
+
+        @Override
+        public SQLType type() {
+            return this.type;
+        }
+
+        @Override
+        public ComponentBag components() {
+            return this.components;
+        }
+
+        @Override
+        public Bindings bindings() {
+            return this.bindings;
+        }
+    }
+
+    static class ShardCursor extends Cursor {
+
+        private final Iterator<Supplier<Iterator<Row>>> sources;
+
+        private Iterator<Row> current;
+
+        ShardCursor(List<Supplier<Iterator<Row>>> sources) {
+            this.sources = sources.iterator();
+            this.current = null;
+        }
+
+        @Override
+        protected Row fetch() {
+            while (null == this.current || !this.current.hasNext()) {
+                if (this.current instanceof Cursor) {
+                    Cursor.class.cast(this.current).close();
+                }
+                if (!this.sources.hasNext()) {
+                    this.current = null;
+                    return null;
+                }
+                this.current = this.sources.next().get();
+            }
+            return this.current.next();
+        }
+
+        @Override
+        protected void release() {
+            if (this.current instanceof Cursor) {
+                Cursor.class.cast(this.current).close();
+            }
+        }
+    }
+
+    static class MergeCursor extends Cursor {
+
+        private final List<Cursor> cursors;
+        private final Function<Row, Comparator<Row>> ordering;
+        private final Row[] heads;
+
+        private Comparator<Row> comparator;
+        private boolean started;
+        private long skip;
+        private long remaining;
+
+        MergeCursor(List<Cursor> cursors, Function<Row, Comparator<Row>> ordering, long skip, long limit) {
+            this.cursors = cursors;
+            this.ordering = ordering;
+            this.heads = new Row[cursors.size()];
+            this.comparator = null;
+            this.started = false;
+            this.skip = skip;
+            this.remaining = limit;
+        }
+
+        protected Row advance(int index) {
+            Cursor cursor = this.cursors.get(index);
+            return cursor.hasNext() ? cursor.next() : null;
+        }
+
+        @Override
+        protected Row fetch() {
+            if (!this.started) {
+                this.started = true;
+                for (int i = 0; i < this.heads.length; i++) {
+                    this.heads[i] = this.advance(i);
+                    if (null == this.comparator && null != this.heads[i]) {
+                        this.comparator = this.ordering.apply(this.heads[i]);
+                    }
+                }
+            }
+            while (0 < this.remaining) {
+                int least = -1;
+                for (int i = 0; i < this.heads.length; i++) {
+                    if (null != this.heads[i]
+                            && (-1 == least || 0 > this.comparator.compare(this.heads[i], this.heads[least]))) {
+                        least = i;
+                    }
+                }
+                if (-1 == least) {
+                    return null;
+                }
+                Row row = this.heads[least];
+                this.heads[least] = this.advance(least);
+                if (0 < this.skip) {
+                    this.skip--;
+                    continue;
+                }
+                this.remaining--;
+                return row;
+            }
+            return null;
+        }
+
+        @Override
+        protected void release() {
+            this.cursors.forEach(Cursor::close);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.h2;
+
+import com.github.luischavez.database.jdbc.ChunkWriter;
+import com.github.luischavez.database.jdbc.JDBCBulkLoader;
+import com.github.luischavez.database.query.QueryGrammar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.h2.store.fs.FileUtils;
+
+/**
+ * Bulk loader backed by INSERT ... DIRECT SELECT FROM CSVREAD, each chunk is
+ * written as CSV to the in-memory file system of the embedded database.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class H2BulkLoader extends JDBCBulkLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final QueryGrammar grammar;
+
+    public H2BulkLoader(QueryGrammar grammar) {
+        this.grammar = grammar;
+    }
+
+    public H2BulkLoader() {
+        this(new H2QueryGrammar());
+    }
+
+    protected String compileLoad(String tableName, String[] columns, String fileName) {
+        String[] header = new String[columns.length];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = "C" + (i + 1);
+        }
+        return "INSERT INTO " + this.grammar.compileTableName(tableName)
+                + " (" + this.grammar.compileColumnNames(columns) + ")"
+                + " DIRECT SELECT * FROM CSVREAD('" + fileName + "', '"
+                + String.join(",", header) + "', 'charset=UTF-8')";
+    }
+
+    protected void quote(Buffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.write('"');
+        for (byte b : bytes) {
+            if ('"' == b) {
+                buffer.write('"');
+            }
+            buffer.write(b);
+        }
+        buffer.write('"');
+    }
+
+    @Override
+    protected ChunkWriter writer(String tableName, String[] columns) {
+        String fileName = "memFS:" + UUID.randomUUID() + ".csv";
+        String sql = this.compileLoad(tableName, columns, fileName);
+        Buffer buffer = new Buffer(BUFFER_SIZE);
+        return new ChunkWriter() {
+
+            @Override
+            public void add(Object[] values) throws SQLException {
+                for (int i = 0; i < values.length; i++) {
+                    if (0 < i) {
+                        buffer.write(',');
+                    }
+                    Object value = values[i];
+                    if (null == value) {
+                        continue;
+                    }
+                    byte[] bytes = H2BulkLoader.this.toBytes(value);
+                    if (H2BulkLoader.this.binary(value)) {
+                        H2BulkLoader.this.quote(buffer, H2BulkLoader.this.hex(bytes));
+                    } else {
+                        H2BulkLoader.this.quote(buffer, new String(bytes, StandardCharsets.UTF_8));
+                    }
+                }
+                buffer.write('\n');
+            }
+
+            @Override
+            public void flush(Connection connection) throws SQLException {
+                try {
+                    try (OutputStream out = FileUtils.newOutputStream(fileName, false)) {
+                        buffer.writeTo(out);
+                    } catch (IOException ex) {
+                        throw new SQLException("Can't write chunk " + fileName, ex);
+                    }
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(sql);
+                    }
+                } finally {
+                    buffer.reset();
+                    FileUtils.delete(fileName);
+                }
+            }
+
+            @Override
+            public void discard() {
+                buffer.reset();
+                FileUtils.delete(fileName);
+            }
+        };
+    }
+}
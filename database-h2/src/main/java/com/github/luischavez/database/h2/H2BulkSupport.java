@@ -0,0 +1,31 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.h2;
+
+import com.github.luischavez.database.Support;
+
+/**
+ * H2 support loading through CSVREAD, requires an admin user.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class H2BulkSupport extends Support {
+
+    public H2BulkSupport() {
+        super(new H2Linker(), new H2QueryGrammar(), new H2SchemaGrammar(), new H2BulkLoader());
+    }
+}
@@ -52,8 +52,12 @@ public class H2Linker extends JDBCLinker {
         } catch (ClassNotFoundException ex) {
         }
         JdbcDataSource h2DataSource = new JdbcDataSource();
-        String userDir = System.getProperty("user.dir");
-        h2DataSource.setURL("jdbc:h2:file:" + userDir + "/" + database);
+        if (Boolean.parseBoolean(properties.getOrDefault("memory", "false").trim())) {
+            h2DataSource.setURL("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        } else {
+            String userDir = System.getProperty("user.dir");
+            h2DataSource.setURL("jdbc:h2:file:" + userDir + "/" + database);
+        }
         h2DataSource.setUser(user);
         h2DataSource.setPassword(password);
         return h2DataSource;
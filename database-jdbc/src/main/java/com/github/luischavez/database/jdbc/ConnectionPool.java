@@ -0,0 +1,306 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.jdbc;
+
+import com.github.luischavez.database.link.LinkerException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of physical connections, idle connections are evicted and
+ * leaks are reported lazily when connections are borrowed or returned. Every
+ * connection keeps its statement cache while pooled.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class ConnectionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private static final long VALIDATION_INTERVAL = 1000;
+    private static final int VALIDATION_TIMEOUT = 5;
+
+    private final DataSource dataSource;
+    private final LinkedBlockingDeque<PooledConnection> idle;
+    private final Map<Connection, PooledConnection> borrowed;
+
+    private int minSize;
+    private int maxSize;
+    private long idleTimeout;
+    private long acquireTimeout;
+    private long leakThreshold;
+    private String validationQuery;
+    private int statementCacheSize;
+
+    private Semaphore permits;
+    private volatile boolean closed;
+
+    public ConnectionPool(DataSource dataSource, int maxSize) {
+        this.dataSource = dataSource;
+        this.idle = new LinkedBlockingDeque<>();
+        this.borrowed = new ConcurrentHashMap<>();
+        this.minSize = 0;
+        this.idleTimeout = 600000;
+        this.acquireTimeout = 30000;
+        this.leakThreshold = 0;
+        this.validationQuery = null;
+        this.statementCacheSize = 0;
+        this.closed = false;
+        this.setMaxSize(maxSize);
+    }
+
+    public int getMinSize() {
+        return this.minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    private void setMaxSize(int maxSize) {
+        if (0 >= maxSize) {
+            throw new LinkerException("Invalid pool size " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public long getIdleTimeout() {
+        return this.idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public long getAcquireTimeout() {
+        return this.acquireTimeout;
+    }
+
+    public void setAcquireTimeout(long acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public long getLeakThreshold() {
+        return this.leakThreshold;
+    }
+
+    public void setLeakThreshold(long leakThreshold) {
+        this.leakThreshold = leakThreshold;
+    }
+
+    public String getValidationQuery() {
+        return this.validationQuery;
+    }
+
+    public void setValidationQuery(String validationQuery) {
+        this.validationQuery = validationQuery;
+    }
+
+    public int getStatementCacheSize() {
+        return this.statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public StatementCache getStatementCache(Connection connection) {
+        PooledConnection pooled = this.borrowed.get(connection);
+        if (null == pooled) {
+            throw new LinkerException("Connection not borrowed from this pool");
+        }
+        return pooled.statements;
+    }
+
+    public int getIdleCount() {
+        return this.idle.size();
+    }
+
+    public int getBorrowedCount() {
+        return this.borrowed.size();
+    }
+
+    protected boolean validate(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsed < VALIDATION_INTERVAL) {
+            return true;
+        }
+        Connection connection = pooled.connection;
+        try {
+            if (null == this.validationQuery || this.validationQuery.isEmpty()) {
+                return connection.isValid(VALIDATION_TIMEOUT);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(VALIDATION_TIMEOUT);
+                statement.execute(this.validationQuery);
+            }
+            return true;
+        } catch (SQLException ex) {
+            LOGGER.debug("Connection validation failed", ex);
+            return false;
+        }
+    }
+
+    protected void discard(PooledConnection pooled) {
+        try {
+            pooled.statements.clear();
+        } catch (RuntimeException ex) {
+            LOGGER.debug("Can't close pooled statements", ex);
+        }
+        try {
+            pooled.connection.close();
+        } catch (SQLException ex) {
+            LOGGER.debug("Can't close pooled connection", ex);
+        }
+    }
+
+    protected void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> iterator = this.idle.descendingIterator();
+        while (iterator.hasNext() && this.idle.size() > this.minSize) {
+            PooledConnection pooled = iterator.next();
+            if (now - pooled.lastUsed > this.idleTimeout && this.idle.remove(pooled)) {
+                this.discard(pooled);
+            }
+        }
+    }
+
+    protected void detectLeaks() {
+        if (0 >= this.leakThreshold) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : this.borrowed.values()) {
+            if (!pooled.leakReported && now - pooled.borrowedAt > this.leakThreshold) {
+                pooled.leakReported = true;
+                LOGGER.warn("Connection borrowed for more than {} ms, possible leak", this.leakThreshold, pooled.trace);
+            }
+        }
+    }
+
+    public Connection acquire() {
+        if (this.closed) {
+            throw new LinkerException("Connection pool is closed");
+        }
+        try {
+            if (!this.permits.tryAcquire(this.acquireTimeout, TimeUnit.MILLISECONDS)) {
+                throw new LinkerException("Timeout waiting for connection after " + this.acquireTimeout + " ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new LinkerException("Interrupted waiting for connection", ex);
+        }
+        PooledConnection pooled;
+        try {
+            while (null != (pooled = this.idle.pollFirst())) {
+                if (this.validate(pooled)) {
+                    break;
+                }
+                this.discard(pooled);
+            }
+            if (null == pooled) {
+                pooled = new PooledConnection(this.dataSource.getConnection(), this.statementCacheSize);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            this.permits.release();
+            throw new LinkerException("Can't create link", ex);
+        }
+        pooled.borrowedAt = System.currentTimeMillis();
+        pooled.leakReported = false;
+        pooled.trace = 0 < this.leakThreshold ? new Exception("Connection borrowed here") : null;
+        this.borrowed.put(pooled.connection, pooled);
+        this.detectLeaks();
+        return pooled.connection;
+    }
+
+    protected boolean reset(Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            connection.clearWarnings();
+        } catch (SQLException ex) {
+            LOGGER.debug("Can't reset pooled connection", ex);
+            return false;
+        }
+        return true;
+    }
+
+    public void release(Connection connection) {
+        PooledConnection pooled = this.borrowed.remove(connection);
+        if (null == pooled) {
+            throw new LinkerException("Connection not borrowed from this pool");
+        }
+        pooled.lastUsed = System.currentTimeMillis();
+        pooled.trace = null;
+        if (!this.closed && this.reset(connection)) {
+            this.idle.offerFirst(pooled);
+        } else {
+            this.discard(pooled);
+        }
+        this.permits.release();
+        this.evictIdle();
+        this.detectLeaks();
+    }
+
+    public void close() {
+        this.closed = true;
+        PooledConnection pooled;
+        while (null != (pooled = this.idle.pollFirst())) {
+            this.discard(pooled);
+        }
+    }
+
+    static class PooledConnection {
+
+        final Connection connection;
+        final StatementCache statements;
+
+        volatile long lastUsed;
+        volatile long borrowedAt;
+        volatile boolean leakReported;
+        volatile Exception trace;
+
+        PooledConnection(Connection connection, int statementCacheSize) {
+            this.connection = connection;
+            this.statements = new StatementCache(statementCacheSize);
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.jdbc;
+
+import com.github.luischavez.database.link.BulkLoader;
+import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.link.LoadReport;
+import com.github.luischavez.database.link.QueryException;
+import com.github.luischavez.database.link.RoutingLink;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Base of the dialect bulk loaders, rows are encoded into an in-memory
+ * text buffer and handed to the database native ingestion per chunk.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public abstract class JDBCBulkLoader implements BulkLoader {
+
+    protected abstract ChunkWriter writer(String tableName, String[] columns);
+
+    protected byte[] toBytes(Object value) throws SQLException {
+        if (value instanceof byte[]) {
+            return byte[].class.cast(value);
+        }
+        if (value instanceof Blob) {
+            Blob blob = Blob.class.cast(value);
+            return blob.getBytes(1, (int) blob.length());
+        }
+        if (value instanceof Boolean) {
+            value = Boolean.TRUE.equals(value) ? 1 : 0;
+        }
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    protected boolean binary(Object value) {
+        return value instanceof byte[] || value instanceof Blob;
+    }
+
+    protected String hex(byte[] bytes) {
+        char[] digits = "0123456789abcdef".toCharArray();
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = digits[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = digits[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    protected static class Buffer extends ByteArrayOutputStream {
+
+        public Buffer(int size) {
+            super(size);
+        }
+
+        public byte[] array() {
+            return this.buf;
+        }
+    }
+
+    @Override
+    public LoadReport load(Link link, String tableName, String[] columns, Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        if (link instanceof RoutingLink) {
+            RoutingLink routingLink = RoutingLink.class.cast(link);
+            try {
+                return this.load(routingLink.writer(), tableName, columns, rows, chunkSize, commitSize);
+            } finally {
+                routingLink.written();
+            }
+        }
+        if (!(link instanceof JDBCLink)) {
+            throw new QueryException("Bulk load requires a JDBC link");
+        }
+        ChunkWriter writer = this.writer(tableName, columns);
+        return JDBCLink.class.cast(link).load(writer, rows, chunkSize, commitSize);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.jdbc;
+
+import com.github.luischavez.database.link.Columns;
+import com.github.luischavez.database.link.Converter;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.QueryException;
+import com.github.luischavez.database.link.Row;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class JDBCCursor extends Cursor {
+
+    private final JDBCLink link;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final Columns columns;
+    private final Converter[] javaConverters;
+
+    public JDBCCursor(JDBCLink link, PreparedStatement statement, ResultSet resultSet, Columns columns, Converter[] javaConverters) {
+        this.link = link;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.columns = columns;
+        this.javaConverters = javaConverters;
+    }
+
+    @Override
+    protected Row fetch() {
+        Row row = null;
+        try {
+            if (this.resultSet.next()) {
+                row = this.link.buildRow(this.resultSet, this.columns, this.javaConverters);
+            }
+        } catch (SQLException ex) {
+            this.close();
+            throw new QueryException("Can't fetch row", ex);
+        }
+        return row;
+    }
+
+    @Override
+    protected void release() {
+        this.link.close(this.resultSet);
+        this.link.close(this.statement);
+    }
+}
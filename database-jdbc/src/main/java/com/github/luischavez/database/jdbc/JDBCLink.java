@@ -17,22 +17,34 @@
 package com.github.luischavez.database.jdbc;
 
 import com.github.luischavez.database.grammar.Bindings;
+import com.github.luischavez.database.grammar.SQLType;
 import com.github.luischavez.database.link.Affecting;
+import com.github.luischavez.database.link.Columns;
+import com.github.luischavez.database.link.Converter;
+import com.github.luischavez.database.link.Cursor;
+import com.github.luischavez.database.link.Isolation;
 import com.github.luischavez.database.link.Link;
+import com.github.luischavez.database.link.LoadReport;
 import com.github.luischavez.database.link.QueryException;
+import com.github.luischavez.database.link.Row;
 import com.github.luischavez.database.link.RowList;
+import com.github.luischavez.database.link.StorageType;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.Savepoint;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -40,18 +52,63 @@ import java.util.List;
  */
 public class JDBCLink extends Link {
 
+    private static final int DEFAULT_SIZE_HINT = 16;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
     private final Connection connection;
+    private final int fetchSize;
+    private final StatementCache statementCache;
+    private final int batchSize;
+    private final Map<String, Savepoint> savepoints;
 
-    public JDBCLink(Connection connection) {
+    private int previousIsolation;
+
+    public JDBCLink(Connection connection, int fetchSize, StatementCache statementCache, int batchSize) {
         this.connection = connection;
+        this.fetchSize = fetchSize;
+        this.statementCache = statementCache;
+        this.batchSize = 0 < batchSize ? batchSize : DEFAULT_BATCH_SIZE;
+        this.savepoints = new HashMap<>();
+        this.previousIsolation = -1;
+    }
+
+    public JDBCLink(Connection connection, int fetchSize, int statementCacheSize, int batchSize) {
+        this(connection, fetchSize, new StatementCache(statementCacheSize), batchSize);
+    }
+
+    public JDBCLink(Connection connection, int fetchSize, int statementCacheSize) {
+        this(connection, fetchSize, statementCacheSize, DEFAULT_BATCH_SIZE);
+    }
+
+    public JDBCLink(Connection connection, int fetchSize) {
+        this(connection, fetchSize, 0);
+    }
+
+    public JDBCLink(Connection connection) {
+        this(connection, 0);
     }
 
     protected Connection getConnection() {
         return this.connection;
     }
 
+    protected int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    protected int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public StatementCache getStatementCache() {
+        return this.statementCache;
+    }
+
     protected PreparedStatement preparedStatement(String sql, boolean generateKeys) {
-        PreparedStatement statement;
+        PreparedStatement statement = this.statementCache.get(sql, generateKeys);
+        if (null != statement) {
+            return statement;
+        }
         try {
             if (generateKeys) {
                 statement = this.connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS);
@@ -61,6 +118,26 @@ public class JDBCLink extends Link {
         } catch (SQLException ex) {
             throw new QueryException("Can't prepare statement", ex);
         }
+        this.statementCache.put(sql, generateKeys, statement);
+        return statement;
+    }
+
+    protected void release(PreparedStatement statement) {
+        this.statementCache.release(statement);
+    }
+
+    protected void closeStatements() {
+        this.statementCache.clear();
+    }
+
+    protected PreparedStatement streamingStatement(String sql, int fetchSize) {
+        PreparedStatement statement;
+        try {
+            statement = this.connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(0 < fetchSize ? fetchSize : this.fetchSize);
+        } catch (SQLException ex) {
+            throw new QueryException("Can't prepare statement", ex);
+        }
         return statement;
     }
 
@@ -92,24 +169,120 @@ public class JDBCLink extends Link {
         }
     }
 
-    protected RowList buildListResults(ResultSet resultSet) {
-        RowList listResults = new RowList();
+    protected ResultSetMetaData getMetaData(ResultSet resultSet) {
         ResultSetMetaData metaData;
         try {
             metaData = resultSet.getMetaData();
         } catch (SQLException ex) {
             throw new QueryException("Can't get meta data", ex);
         }
+        return metaData;
+    }
+
+    protected Row buildRow(ResultSet resultSet, Columns columns, Converter[] javaConverters) throws SQLException {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = resultSet.getObject(i + 1);
+        }
+        return this.toJava(columns, values, javaConverters);
+    }
+
+    protected Columns buildColumns(ResultSetMetaData metaData) {
+        String[] names;
+        try {
+            names = new String[metaData.getColumnCount()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+            }
+        } catch (SQLException ex) {
+            throw new QueryException("Can't get meta data", ex);
+        }
+        return new Columns(names);
+    }
+
+    protected int sizeHint(ResultSet resultSet) {
+        int fetchSize;
+        try {
+            fetchSize = resultSet.getFetchSize();
+        } catch (SQLException ex) {
+            fetchSize = 0;
+        }
+        return 0 < fetchSize ? fetchSize : DEFAULT_SIZE_HINT;
+    }
+
+    protected StorageType storageType(int sqlType) {
+        switch (sqlType) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return StorageType.LONG;
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return StorageType.DOUBLE;
+            default:
+                return StorageType.OBJECT;
+        }
+    }
+
+    protected Class<?> columnClass(ResultSetMetaData metaData, int column, StorageType type) {
+        try {
+            return Class.forName(metaData.getColumnClassName(column));
+        } catch (ClassNotFoundException | SQLException ex) {
+            return StorageType.DOUBLE.equals(type) ? Double.class : Long.class;
+        }
+    }
+
+    protected StorageType[] buildStorageTypes(ResultSetMetaData metaData) {
+        StorageType[] types;
+        boolean overrides = this.getConverters().overridesJava();
+        try {
+            types = new StorageType[metaData.getColumnCount()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = this.storageType(metaData.getColumnType(i + 1));
+                if (overrides && StorageType.OBJECT != types[i]
+                        && this.getConverters().overridesJava(this.columnClass(metaData, i + 1, types[i]))) {
+                    types[i] = StorageType.OBJECT;
+                }
+            }
+        } catch (SQLException ex) {
+            throw new QueryException("Can't get meta data", ex);
+        }
+        return types;
+    }
+
+    protected RowList buildListResults(ResultSet resultSet) {
+        ResultSetMetaData metaData = this.getMetaData(resultSet);
+        Columns columns = this.buildColumns(metaData);
+        StorageType[] types = this.buildStorageTypes(metaData);
+        RowList listResults = new RowList(columns, types, this.sizeHint(resultSet));
+        Converter[] javaConverters = this.javaConverters(types.length);
         try {
-            int columnCount = metaData.getColumnCount();
             while (resultSet.next()) {
-                HashMap<String, Object> values = new HashMap<>();
-                for (int i = 0; i < columnCount; i++) {
-                    String columnName = metaData.getColumnLabel(i + 1);
-                    Object columnValue = resultSet.getObject(i + 1);
-                    values.put(columnName.toLowerCase(), columnValue);
+                int index = listResults.append();
+                for (int i = 0; i < types.length; i++) {
+                    switch (types[i]) {
+                        case LONG:
+                            long longValue = resultSet.getLong(i + 1);
+                            if (resultSet.wasNull()) {
+                                listResults.setNull(index, i);
+                            } else {
+                                listResults.setLong(index, i, longValue);
+                            }
+                            break;
+                        case DOUBLE:
+                            double doubleValue = resultSet.getDouble(i + 1);
+                            if (resultSet.wasNull()) {
+                                listResults.setNull(index, i);
+                            } else {
+                                listResults.setDouble(index, i, doubleValue);
+                            }
+                            break;
+                        default:
+                            listResults.setObject(index, i, javaConverters[i].apply(resultSet.getObject(i + 1)));
+                    }
                 }
-                listResults.attach(this.toJava(values));
             }
         } catch (SQLException ex) {
             throw new QueryException("Can't create result", ex);
@@ -139,55 +312,282 @@ public class JDBCLink extends Link {
             }
         } catch (SQLException ex) {
             throw new QueryException("Can't execute ddl", ex);
+        } finally {
+            this.close(statement);
         }
-        this.close(statement);
     }
 
     protected Affecting execute(String sql, Bindings bindings, boolean generateKeys) {
         PreparedStatement statement = this.preparedStatement(sql, generateKeys);
-        if (null != bindings) {
-            this.toDatabase(bindings);
-            Object[] values = bindings.getArray(new String[]{"values"});
-            Object[] wheres = bindings.getArray(new String[]{"wheres"});
-            this.setBindings(statement, values, 1);
-            this.setBindings(statement, wheres, values.length + 1);
-        }
-        int affectingCount;
-        ResultSet resultSet = null;
         try {
-            affectingCount = statement.executeUpdate();
-            if (generateKeys) {
-                resultSet = statement.getGeneratedKeys();
+            if (null != bindings) {
+                this.toDatabase(bindings);
+                Object[] values = bindings.getArray(new String[]{"values"});
+                Object[] wheres = bindings.getArray(new String[]{"wheres"});
+                this.setBindings(statement, values, 1);
+                this.setBindings(statement, wheres, values.length + 1);
+            }
+            int affectingCount;
+            ResultSet resultSet = null;
+            try {
+                affectingCount = statement.executeUpdate();
+                if (generateKeys) {
+                    resultSet = statement.getGeneratedKeys();
+                }
+            } catch (SQLException ex) {
+                throw new QueryException("Can't execute sql", ex);
+            }
+            Object[] keys = new Object[0];
+            if (null != resultSet) {
+                try {
+                    keys = this.getGeneratedKeys(resultSet);
+                } finally {
+                    this.close(resultSet);
+                }
+            }
+            return new Affecting(affectingCount, keys);
+        } finally {
+            this.release(statement);
+        }
+    }
+
+    protected void clearBatch(PreparedStatement statement) {
+        try {
+            statement.clearBatch();
+        } catch (SQLException ex) {
+            this.close(statement);
+        }
+    }
+
+    protected int batchRow(PreparedStatement statement, Object[] values, Object[] conditions) throws SQLException {
+        int index = 1;
+        if (null != values) {
+            for (Object value : values) {
+                statement.setObject(index++, this.toDatabase(value));
+            }
+        }
+        if (null != conditions) {
+            for (Object condition : conditions) {
+                statement.setObject(index++, this.toDatabase(condition));
+            }
+        }
+        statement.addBatch();
+        return index - 1;
+    }
+
+    @Override
+    public Affecting[] batch(SQLType type, String sql, Object[][] values, Object[][] conditions, int chunkSize) {
+        int rows = null != values ? values.length : (null != conditions ? conditions.length : 0);
+        Affecting[] results = new Affecting[rows];
+        if (0 == rows) {
+            return results;
+        }
+        boolean generateKeys = SQLType.INSERT.equals(type);
+        int chunk = 0 < chunkSize ? chunkSize : this.batchSize;
+        PreparedStatement statement = this.preparedStatement(sql, generateKeys);
+        try {
+            for (int first = 0; first < rows; first += chunk) {
+                int last = Math.min(rows, first + chunk);
+                for (int i = first; i < last; i++) {
+                    this.batchRow(statement,
+                            null != values ? values[i] : null,
+                            null != conditions ? conditions[i] : null);
+                }
+                int[] counts = statement.executeBatch();
+                Object[] keys = new Object[0];
+                if (generateKeys) {
+                    ResultSet resultSet = statement.getGeneratedKeys();
+                    try {
+                        keys = this.getGeneratedKeys(resultSet);
+                    } finally {
+                        this.close(resultSet);
+                    }
+                }
+                int keyOffset = counts.length - keys.length;
+                for (int i = 0; i < counts.length && first + i < last; i++) {
+                    int count = Statement.SUCCESS_NO_INFO == counts[i] ? 1 : counts[i];
+                    Object[] rowKeys = keyOffset <= i ? new Object[]{keys[i - keyOffset]} : new Object[0];
+                    results[first + i] = new Affecting(count, rowKeys);
+                }
+            }
+        } catch (SQLException ex) {
+            this.clearBatch(statement);
+            throw new QueryException("Can't execute batch", ex);
+        } catch (RuntimeException ex) {
+            this.clearBatch(statement);
+            throw ex;
+        } finally {
+            this.release(statement);
+        }
+        return results;
+    }
+
+    protected void rollback(Exception cause) {
+        try {
+            this.connection.rollback();
+        } catch (SQLException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    protected Object[] toDatabase(Object[] values) {
+        Object[] converted = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            converted[i] = this.toDatabase(values[i]);
+        }
+        return converted;
+    }
+
+    public LoadReport load(ChunkWriter writer, Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        long start = System.nanoTime();
+        int chunk = 0 < chunkSize ? chunkSize : this.batchSize;
+        int commit = Math.max(chunk, commitSize);
+        long loaded = 0;
+        int chunks = 0;
+        int commits = 0;
+        boolean autoCommit;
+        try {
+            autoCommit = this.connection.getAutoCommit();
+            if (autoCommit) {
+                this.connection.setAutoCommit(false);
+            }
+        } catch (SQLException ex) {
+            throw new QueryException("Can't start bulk load", ex);
+        }
+        try {
+            int pending = 0;
+            int uncommitted = 0;
+            while (rows.hasNext()) {
+                writer.add(this.toDatabase(rows.next()));
+                pending++;
+                if (chunk == pending) {
+                    writer.flush(this.connection);
+                    loaded += pending;
+                    uncommitted += pending;
+                    pending = 0;
+                    chunks++;
+                    if (autoCommit && commit <= uncommitted) {
+                        this.connection.commit();
+                        uncommitted = 0;
+                        commits++;
+                    }
+                }
+            }
+            if (0 < pending) {
+                writer.flush(this.connection);
+                loaded += pending;
+                uncommitted += pending;
+                chunks++;
+            }
+            if (autoCommit && 0 < uncommitted) {
+                this.connection.commit();
+                commits++;
             }
         } catch (SQLException ex) {
-            throw new QueryException("Can't execute sql", ex);
+            writer.discard();
+            if (autoCommit) {
+                this.rollback(ex);
+            }
+            throw new QueryException("Can't execute bulk load after " + loaded + " rows", ex);
+        } catch (RuntimeException ex) {
+            writer.discard();
+            if (autoCommit) {
+                this.rollback(ex);
+            }
+            throw ex;
+        } finally {
+            if (autoCommit) {
+                try {
+                    this.connection.setAutoCommit(true);
+                } catch (SQLException ex) {
+                    throw new QueryException("Can't restore auto commit", ex);
+                }
+            }
         }
-        Object[] keys = new Object[0];
-        if (null != resultSet) {
-            keys = this.getGeneratedKeys(resultSet);
-            this.close(resultSet);
+        return new LoadReport(loaded, chunks, commits, System.nanoTime() - start);
+    }
+
+    @Override
+    public LoadReport load(String sql, Iterator<Object[]> rows, int chunkSize, int commitSize) {
+        PreparedStatement statement = this.preparedStatement(sql, false);
+        try {
+            return this.load(new ChunkWriter() {
+
+                @Override
+                public void add(Object[] values) throws SQLException {
+                    JDBCLink.this.setBindings(statement, values, 1);
+                    statement.addBatch();
+                }
+
+                @Override
+                public void flush(Connection connection) throws SQLException {
+                    statement.executeBatch();
+                }
+
+                @Override
+                public void discard() {
+                    JDBCLink.this.clearBatch(statement);
+                }
+            }, rows, chunkSize, commitSize);
+        } finally {
+            this.release(statement);
         }
-        this.close(statement);
-        return new Affecting(affectingCount, keys);
     }
 
     @Override
     public RowList select(String sql, Bindings bindings) {
         PreparedStatement statement = this.preparedStatement(sql, false);
-        if (null != bindings) {
-            Object[] wheresAndHavings = bindings.getArray(new String[]{"wheres", "havings"});
-            this.setBindings(statement, wheresAndHavings, 1);
+        try {
+            if (null != bindings) {
+                Object[] wheresAndHavings = bindings.getArray(new String[]{"wheres", "havings"});
+                this.setBindings(statement, wheresAndHavings, 1);
+            }
+            ResultSet resultSet;
+            try {
+                resultSet = statement.executeQuery();
+            } catch (SQLException ex) {
+                throw new QueryException("Can't execute query", ex);
+            }
+            try {
+                if (!this.isConversionTimed()) {
+                    return this.buildListResults(resultSet);
+                }
+                long start = System.nanoTime();
+                RowList result = this.buildListResults(resultSet);
+                this.addConversionTime(System.nanoTime() - start);
+                return result;
+            } finally {
+                this.close(resultSet);
+            }
+        } finally {
+            this.release(statement);
         }
-        ResultSet resultSet;
+    }
+
+    @Override
+    public Cursor cursor(String sql, Bindings bindings, int fetchSize) {
+        PreparedStatement statement = this.streamingStatement(sql, fetchSize);
+        ResultSet resultSet = null;
         try {
-            resultSet = statement.executeQuery();
-        } catch (SQLException ex) {
-            throw new QueryException("Can't execute query", ex);
+            if (null != bindings) {
+                Object[] wheresAndHavings = bindings.getArray(new String[]{"wheres", "havings"});
+                this.setBindings(statement, wheresAndHavings, 1);
+            }
+            try {
+                resultSet = statement.executeQuery();
+            } catch (SQLException ex) {
+                throw new QueryException("Can't execute query", ex);
+            }
+            Columns columns = this.buildColumns(this.getMetaData(resultSet));
+            Converter[] javaConverters = this.javaConverters(columns.size());
+            return new JDBCCursor(this, statement, resultSet, columns, javaConverters);
+        } catch (RuntimeException ex) {
+            if (null != resultSet) {
+                this.close(resultSet);
+            }
+            this.close(statement);
+            throw ex;
         }
-        RowList result = this.buildListResults(resultSet);
-        this.close(resultSet);
-        this.close(statement);
-        return result;
     }
 
     @Override
@@ -233,4 +633,119 @@ public class JDBCLink extends Link {
         }
         return exists;
     }
+
+    protected int isolationLevel(Isolation isolation) {
+        switch (isolation) {
+            case READ_UNCOMMITTED:
+                return Connection.TRANSACTION_READ_UNCOMMITTED;
+            case READ_COMMITTED:
+                return Connection.TRANSACTION_READ_COMMITTED;
+            case REPEATABLE_READ:
+                return Connection.TRANSACTION_REPEATABLE_READ;
+            case SERIALIZABLE:
+                return Connection.TRANSACTION_SERIALIZABLE;
+            default:
+                return -1;
+        }
+    }
+
+    protected void end() throws SQLException {
+        this.savepoints.clear();
+        this.connection.setAutoCommit(true);
+        if (-1 != this.previousIsolation) {
+            this.connection.setTransactionIsolation(this.previousIsolation);
+            this.previousIsolation = -1;
+        }
+    }
+
+    @Override
+    public void begin(Isolation isolation) {
+        if (this.inTransaction()) {
+            throw new QueryException("Transaction already started");
+        }
+        int level = this.isolationLevel(isolation);
+        try {
+            if (-1 != level) {
+                this.previousIsolation = this.connection.getTransactionIsolation();
+                this.connection.setTransactionIsolation(level);
+            }
+            this.connection.setAutoCommit(false);
+        } catch (SQLException ex) {
+            throw new QueryException("Can't begin transaction", ex);
+        }
+    }
+
+    @Override
+    public void commit() {
+        if (!this.inTransaction()) {
+            throw new QueryException("No transaction to commit");
+        }
+        try {
+            this.connection.commit();
+            this.end();
+        } catch (SQLException ex) {
+            throw new QueryException("Can't commit transaction", ex);
+        }
+    }
+
+    @Override
+    public void rollback() {
+        if (!this.inTransaction()) {
+            throw new QueryException("No transaction to rollback");
+        }
+        try {
+            this.connection.rollback();
+            this.end();
+        } catch (SQLException ex) {
+            throw new QueryException("Can't rollback transaction", ex);
+        }
+    }
+
+    @Override
+    public boolean inTransaction() {
+        try {
+            return !this.connection.getAutoCommit();
+        } catch (SQLException ex) {
+            throw new QueryException("Can't get transaction state", ex);
+        }
+    }
+
+    protected Savepoint getSavepoint(String name) {
+        Savepoint savepoint = this.savepoints.get(name);
+        if (null == savepoint) {
+            throw new QueryException("Undefined savepoint " + name);
+        }
+        return savepoint;
+    }
+
+    @Override
+    public void savepoint(String name) {
+        if (!this.inTransaction()) {
+            throw new QueryException("Savepoints require a transaction");
+        }
+        try {
+            this.savepoints.put(name, this.connection.setSavepoint(name));
+        } catch (SQLException ex) {
+            throw new QueryException("Can't create savepoint " + name, ex);
+        }
+    }
+
+    @Override
+    public void rollback(String savepoint) {
+        try {
+            this.connection.rollback(this.getSavepoint(savepoint));
+        } catch (SQLException ex) {
+            throw new QueryException("Can't rollback to savepoint " + savepoint, ex);
+        }
+    }
+
+    @Override
+    public void release(String savepoint) {
+        try {
+            this.connection.releaseSavepoint(this.getSavepoint(savepoint));
+            this.savepoints.remove(savepoint);
+        } catch (SQLException ex) {
+            throw new QueryException("Can't release savepoint " + savepoint, ex);
+        }
+    }
 }
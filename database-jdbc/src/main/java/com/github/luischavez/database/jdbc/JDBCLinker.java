@@ -16,6 +16,7 @@
  */
 package com.github.luischavez.database.jdbc;
 
+import com.github.luischavez.database.configuration.ConfigurationException;
 import com.github.luischavez.database.configuration.DatabaseConfiguration;
 import com.github.luischavez.database.link.Link;
 import com.github.luischavez.database.link.Linker;
@@ -24,6 +25,8 @@ import com.github.luischavez.database.link.LinkerException;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import java.util.Map;
+
 import javax.sql.DataSource;
 
 /**
@@ -33,24 +36,87 @@ import javax.sql.DataSource;
 public abstract class JDBCLinker implements Linker {
 
     private DataSource dataSource;
+    private ConnectionPool pool;
+    private int fetchSize;
+    private int statementCacheSize;
+    private int batchSize;
 
     protected <T extends DataSource> T getDataSource(Class<T> dataSourceClass) {
         return dataSourceClass.cast(this.dataSource);
     }
 
+    protected ConnectionPool getPool() {
+        return this.pool;
+    }
+
+    protected int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    protected int getStatementCacheSize() {
+        return this.statementCacheSize;
+    }
+
+    protected int getBatchSize() {
+        return this.batchSize;
+    }
+
+    protected int getIntProperty(Map<String, String> properties, String key, int defaultValue) {
+        if (!properties.containsKey(key)) {
+            return defaultValue;
+        }
+        String value = properties.get(key);
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new ConfigurationException("Invalid " + key + " property " + value, ex);
+        }
+    }
+
+    protected StatementCache statementCache(Connection connection) {
+        if (null != this.pool) {
+            return this.pool.getStatementCache(connection);
+        }
+        return new StatementCache(this.statementCacheSize);
+    }
+
     protected Link createLink(Connection connection) {
-        return new JDBCLink(connection);
+        return new JDBCLink(connection, this.fetchSize, this.statementCache(connection), this.batchSize);
     }
 
     protected abstract DataSource createDataSource(DatabaseConfiguration databaseConfiguration);
 
+    protected ConnectionPool createPool(DataSource dataSource, Map<String, String> properties) {
+        int maxSize = this.getIntProperty(properties, "pool_max_size", 0);
+        if (0 >= maxSize) {
+            return null;
+        }
+        ConnectionPool connectionPool = new ConnectionPool(dataSource, maxSize);
+        connectionPool.setMinSize(this.getIntProperty(properties, "pool_min_size", 0));
+        connectionPool.setIdleTimeout(this.getIntProperty(properties, "pool_idle_timeout", 600000));
+        connectionPool.setAcquireTimeout(this.getIntProperty(properties, "pool_acquire_timeout", 30000));
+        connectionPool.setLeakThreshold(this.getIntProperty(properties, "pool_leak_threshold", 0));
+        connectionPool.setValidationQuery(properties.get("pool_validation_query"));
+        connectionPool.setStatementCacheSize(this.statementCacheSize);
+        return connectionPool;
+    }
+
     @Override
     public void configure(DatabaseConfiguration databaseConfiguration) {
+        Map<String, String> properties = databaseConfiguration.getProperties();
+        this.fetchSize = this.getIntProperty(properties, "fetch_size", 0);
+        this.statementCacheSize = this.getIntProperty(properties, "statement_cache_size", 32);
+        this.batchSize = this.getIntProperty(properties, "batch_size", 1000);
         this.dataSource = this.createDataSource(databaseConfiguration);
+        this.shutdown();
+        this.pool = this.createPool(this.dataSource, properties);
     }
 
     @Override
     public Link open() {
+        if (null != this.pool) {
+            return this.createLink(this.pool.acquire());
+        }
         Connection connection;
         try {
             connection = this.dataSource.getConnection();
@@ -66,10 +132,26 @@ public abstract class JDBCLinker implements Linker {
             throw new LinkerException("Invalid Link class " + link.getClass().getName());
         }
         JDBCLink jdbcLink = JDBCLink.class.cast(link);
+        if (jdbcLink.inTransaction()) {
+            jdbcLink.rollback();
+        }
+        if (null != this.pool) {
+            this.pool.release(jdbcLink.getConnection());
+            return;
+        }
+        jdbcLink.closeStatements();
         try {
             jdbcLink.getConnection().close();
         } catch (SQLException ex) {
             throw new LinkerException("Can't close connection", ex);
         }
     }
+
+    @Override
+    public void shutdown() {
+        if (null != this.pool) {
+            this.pool.close();
+            this.pool = null;
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.jdbc;
+
+import com.github.luischavez.database.link.QueryException;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least recently used cache of prepared statements of a single connection.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class StatementCache {
+
+    private final int maxSize;
+    private final Map<String, PreparedStatement> statements;
+    private final Map<PreparedStatement, String> keys;
+
+    private long hits;
+    private long misses;
+
+    public StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (this.size() > StatementCache.this.maxSize) {
+                    StatementCache.this.keys.remove(eldest.getValue());
+                    StatementCache.this.close(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.keys = new IdentityHashMap<>();
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    protected String key(String sql, boolean generateKeys) {
+        return generateKeys ? "K:" + sql : "S:" + sql;
+    }
+
+    protected void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            throw new QueryException("Can't close statement", ex);
+        }
+    }
+
+    public boolean enabled() {
+        return 0 < this.maxSize;
+    }
+
+    public PreparedStatement get(String sql, boolean generateKeys) {
+        if (!this.enabled()) {
+            return null;
+        }
+        PreparedStatement statement = this.statements.get(this.key(sql, generateKeys));
+        if (null == statement) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return statement;
+    }
+
+    public void put(String sql, boolean generateKeys, PreparedStatement statement) {
+        if (this.enabled()) {
+            String key = this.key(sql, generateKeys);
+            this.keys.put(statement, key);
+            this.statements.put(key, statement);
+        }
+    }
+
+    public boolean contains(PreparedStatement statement) {
+        return this.keys.containsKey(statement);
+    }
+
+    public void release(PreparedStatement statement) {
+        if (this.contains(statement)) {
+            try {
+                statement.clearParameters();
+            } catch (SQLException ex) {
+                this.statements.remove(this.keys.remove(statement));
+                this.close(statement);
+            }
+        } else {
+            this.close(statement);
+        }
+    }
+
+    public void clear() {
+        List<PreparedStatement> cached = new ArrayList<>(this.statements.values());
+        this.statements.clear();
+        this.keys.clear();
+        for (PreparedStatement statement : cached) {
+            this.close(statement);
+        }
+    }
+
+    public int size() {
+        return this.statements.size();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+}
@@ -0,0 +1,124 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.mysql;
+
+import com.github.luischavez.database.jdbc.ChunkWriter;
+import com.github.luischavez.database.jdbc.JDBCBulkLoader;
+import com.github.luischavez.database.query.QueryGrammar;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk loader backed by LOAD DATA LOCAL INFILE, each chunk is streamed from
+ * memory through the driver without temporary files.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class MySQLBulkLoader extends JDBCBulkLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final QueryGrammar grammar;
+
+    public MySQLBulkLoader(QueryGrammar grammar) {
+        this.grammar = grammar;
+    }
+
+    public MySQLBulkLoader() {
+        this(new MySQLQueryGrammar());
+    }
+
+    protected String compileLoad(String tableName, String[] columns) {
+        return "LOAD DATA LOCAL INFILE 'stream' INTO TABLE " + this.grammar.compileTableName(tableName)
+                + " CHARACTER SET utf8"
+                + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'"
+                + " LINES TERMINATED BY '\\n'"
+                + " (" + this.grammar.compileColumnNames(columns) + ")";
+    }
+
+    protected void escape(Buffer buffer, byte[] bytes) {
+        for (byte b : bytes) {
+            switch (b) {
+                case '\\':
+                    buffer.write('\\');
+                    buffer.write('\\');
+                    break;
+                case '\t':
+                    buffer.write('\\');
+                    buffer.write('t');
+                    break;
+                case '\n':
+                    buffer.write('\\');
+                    buffer.write('n');
+                    break;
+                case '\r':
+                    buffer.write('\\');
+                    buffer.write('r');
+                    break;
+                case 0:
+                    buffer.write('\\');
+                    buffer.write('0');
+                    break;
+                default:
+                    buffer.write(b);
+            }
+        }
+    }
+
+    @Override
+    protected ChunkWriter writer(String tableName, String[] columns) {
+        String sql = this.compileLoad(tableName, columns);
+        Buffer buffer = new Buffer(BUFFER_SIZE);
+        return new ChunkWriter() {
+
+            @Override
+            public void add(Object[] values) throws SQLException {
+                for (int i = 0; i < values.length; i++) {
+                    if (0 < i) {
+                        buffer.write('\t');
+                    }
+                    if (null == values[i]) {
+                        buffer.write('\\');
+                        buffer.write('N');
+                    } else {
+                        MySQLBulkLoader.this.escape(buffer, MySQLBulkLoader.this.toBytes(values[i]));
+                    }
+                }
+                buffer.write('\n');
+            }
+
+            @Override
+            public void flush(Connection connection) throws SQLException {
+                try (Statement statement = connection.createStatement()) {
+                    com.mysql.jdbc.Statement mysqlStatement = statement.unwrap(com.mysql.jdbc.Statement.class);
+                    mysqlStatement.setLocalInfileInputStream(new ByteArrayInputStream(buffer.array(), 0, buffer.size()));
+                    statement.execute(sql);
+                } finally {
+                    buffer.reset();
+                }
+            }
+
+            @Override
+            public void discard() {
+                buffer.reset();
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+/* 
+ * Copyright (C) 2015 Luis Chávez
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.luischavez.database.mysql;
+
+import com.github.luischavez.database.jdbc.JDBCLink;
+import com.github.luischavez.database.jdbc.StatementCache;
+import com.github.luischavez.database.link.QueryException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * MySQL link, cursors stream row by row when cursor fetch isn't enabled since
+ * the driver buffers the whole result for any other fetch size.
+ *
+ * @author Luis Chávez {@literal <https://github.com/luischavez>}
+ */
+public class MySQLLink extends JDBCLink {
+
+    private final boolean cursorFetch;
+
+    public MySQLLink(Connection connection, int fetchSize, StatementCache statementCache, int batchSize, boolean cursorFetch) {
+        super(connection, fetchSize, statementCache, batchSize);
+        this.cursorFetch = cursorFetch;
+    }
+
+    public MySQLLink(Connection connection, int fetchSize, int statementCacheSize, int batchSize, boolean cursorFetch) {
+        this(connection, fetchSize, new StatementCache(statementCacheSize), batchSize, cursorFetch);
+    }
+
+    @Override
+    protected PreparedStatement streamingStatement(String sql, int fetchSize) {
+        if (this.cursorFetch) {
+            return super.streamingStatement(sql, fetchSize);
+        }
+        PreparedStatement statement;
+        try {
+            statement = this.getConnection().prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+        } catch (SQLException ex) {
+            throw new QueryException("Can't prepare statement", ex);
+        }
+        return statement;
+    }
+}
@@ -19,9 +19,11 @@ package com.github.luischavez.database.mysql;
 import com.github.luischavez.database.configuration.ConfigurationException;
 import com.github.luischavez.database.configuration.DatabaseConfiguration;
 import com.github.luischavez.database.jdbc.JDBCLinker;
+import com.github.luischavez.database.link.Link;
 
 import com.mysql.jdbc.jdbc2.optional.MysqlConnectionPoolDataSource;
 
+import java.sql.Connection;
 import java.util.Map;
 
 import javax.sql.DataSource;
@@ -32,6 +34,12 @@ import javax.sql.DataSource;
  */
 public class MySQLLinker extends JDBCLinker {
 
+    @Override
+    protected Link createLink(Connection connection) {
+        return new MySQLLink(connection, this.getFetchSize(), this.statementCache(connection), this.getBatchSize(),
+                0 < this.getFetchSize());
+    }
+
     @Override
     public DataSource createDataSource(DatabaseConfiguration databaseConfiguration) {
         Map<String, String> properties = databaseConfiguration.getProperties();
@@ -53,6 +61,9 @@ public class MySQLLinker extends JDBCLinker {
         mysqlDataSource.setDatabaseName(database);
         mysqlDataSource.setUser(user);
         mysqlDataSource.setPassword(password);
+        if (0 < this.getFetchSize()) {
+            mysqlDataSource.setUseCursorFetch(true);
+        }
         return mysqlDataSource;
     }
 }
@@ -25,6 +25,6 @@ import com.github.luischavez.database.Support;
 public class MySQLSupport extends Support {
 
     public MySQLSupport() {
-        super(new MySQLLinker(), new MySQLQueryGrammar(), new MySQLSchemaGrammar());
+        super(new MySQLLinker(), new MySQLQueryGrammar(), new MySQLSchemaGrammar(), new MySQLBulkLoader());
     }
 }